@@ -0,0 +1,111 @@
+/**
+ * 
+ * Copyright 2019-2021 California Institute of Technology ("Caltech").
+ * U.S. Government sponsorship acknowledged.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package io.opencaesar.rosetta.sirius.viewpoint.benchmarks;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+
+import io.opencaesar.oml.Concept;
+import io.opencaesar.oml.Description;
+import io.opencaesar.oml.ForwardRelation;
+import io.opencaesar.oml.Member;
+import io.opencaesar.oml.NamedInstance;
+import io.opencaesar.oml.RelationEntity;
+import io.opencaesar.oml.ScalarProperty;
+import io.opencaesar.oml.Vocabulary;
+import io.opencaesar.oml.util.OmlRead;
+
+/**
+ * An in-memory OML model used by the benchmarks
+ */
+final class BenchmarkModel {
+
+	private static final long SEED = 20190101;
+
+	private static final String BASE_IRI = "http://example.com/benchmark";
+
+	final Vocabulary vocabulary;
+
+	final Description description;
+
+	final List<Concept> concepts;
+
+	final ScalarProperty property;
+
+	final ForwardRelation relation;
+
+	final List<NamedInstance> instances;
+
+	private BenchmarkModel(Vocabulary vocabulary, Description description) {
+		this.vocabulary = vocabulary;
+		this.description = description;
+		this.concepts = vocabulary.getOwnedStatements().stream()
+			.filter(s -> s instanceof Concept)
+			.map(s -> (Concept) s)
+			.collect(Collectors.toList());
+		this.property = vocabulary.getOwnedStatements().stream()
+			.filter(s -> s instanceof ScalarProperty)
+			.map(s -> (ScalarProperty) s)
+			.findFirst().orElseThrow();
+		this.relation = vocabulary.getOwnedStatements().stream()
+			.filter(s -> s instanceof RelationEntity)
+			.map(s -> ((RelationEntity) s).getForwardRelation())
+			.findFirst().orElseThrow();
+		this.instances = description.getOwnedStatements().stream()
+			.filter(s -> s instanceof NamedInstance)
+			.map(s -> (NamedInstance) s)
+			.collect(Collectors.toList());
+	}
+
+	/**
+	 * Creates a model with the given number of instances in a new resource set
+	 * 
+	 * @param size The number of instances
+	 * @return A new model
+	 */
+	static BenchmarkModel create(int size) {
+		var model = new OmlModelGenerator()
+			.setSeed(SEED)
+			.setBaseIri(BASE_IRI)
+			.setEntityCount(63)
+			.setSpecializationDepth(5)
+			.setSpecializationFanOut(2)
+			.setScalarPropertyCount(10)
+			.setRelationCount(10)
+			.setInstanceCount(size)
+			.setValuesPerInstance(2)
+			.setRelationsPerInstance(2)
+			.generate(new ResourceSetImpl(), URI.createURI(BASE_IRI + "/"));
+		return new BenchmarkModel(model.vocabularies().get(0), model.descriptions().get(0));
+	}
+
+	/**
+	 * Gets the abbreviated iri of the given member in the description of the model
+	 * 
+	 * @param member The given member
+	 * @return An abbreviated iri
+	 */
+	String getAbbreviatedIri(Member member) {
+		return OmlRead.getAbbreviatedIriIn(member, description);
+	}
+
+}
@@ -0,0 +1,92 @@
+/**
+ * 
+ * Copyright 2019-2021 California Institute of Technology ("Caltech").
+ * U.S. Government sponsorship acknowledged.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package io.opencaesar.rosetta.sirius.viewpoint.benchmarks;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.equinox.app.IApplication;
+import org.eclipse.equinox.app.IApplicationContext;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * A headless application that runs the JMH benchmarks of the OML viewpoint services
+ */
+public class OmlBenchmarkApplication implements IApplication {
+
+	private static final Integer EXIT_ERROR = Integer.valueOf(1);
+
+	@Override
+	public Object start(IApplicationContext context) throws Exception {
+		var arguments = parseArguments((String[]) context.getArguments().get(IApplicationContext.APPLICATION_ARGS));
+
+		var result = Paths.get(arguments.getOrDefault("result", "benchmarks.json")).toAbsolutePath();
+		if (result.getParent() != null) {
+			Files.createDirectories(result.getParent());
+		}
+
+		var options = new OptionsBuilder()
+			.include(arguments.getOrDefault("include", OmlServicesBenchmark.class.getName()))
+			.forks(0)
+			.resultFormat(ResultFormatType.valueOf(arguments.getOrDefault("format", "json").toUpperCase()))
+			.result(result.toString());
+		if (arguments.containsKey("sizes")) {
+			options.param("size", arguments.get("sizes").split(","));
+		}
+		if (arguments.containsKey("wi")) {
+			options.warmupIterations(Integer.parseInt(arguments.get("wi")));
+		}
+		if (arguments.containsKey("i")) {
+			options.measurementIterations(Integer.parseInt(arguments.get("i")));
+		}
+
+		// the generated benchmark classes are loaded through the context class loader
+		var thread = Thread.currentThread();
+		var contextClassLoader = thread.getContextClassLoader();
+		thread.setContextClassLoader(getClass().getClassLoader());
+		try {
+			var results = new Runner(options.build()).run();
+			return results.isEmpty() ? EXIT_ERROR : IApplication.EXIT_OK;
+		} finally {
+			thread.setContextClassLoader(contextClassLoader);
+		}
+	}
+
+	@Override
+	public void stop() {
+		// benchmarks are not interruptible
+	}
+
+	private static Map<String, String> parseArguments(String[] args) {
+		var arguments = new HashMap<String, String>();
+		if (args != null) {
+			for (int i = 0; i + 1 < args.length; i++) {
+				if (args[i].startsWith("-") && !args[i + 1].startsWith("-")) {
+					arguments.put(args[i].substring(1), args[++i]);
+				}
+			}
+		}
+		return arguments;
+	}
+
+}
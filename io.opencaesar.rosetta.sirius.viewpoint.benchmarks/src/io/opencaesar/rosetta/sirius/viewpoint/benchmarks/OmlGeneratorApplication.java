@@ -0,0 +1,113 @@
+/**
+ * 
+ * Copyright 2019-2021 California Institute of Technology ("Caltech").
+ * U.S. Government sponsorship acknowledged.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package io.opencaesar.rosetta.sirius.viewpoint.benchmarks;
+
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.eclipse.equinox.app.IApplication;
+import org.eclipse.equinox.app.IApplicationContext;
+
+import io.opencaesar.rosetta.sirius.viewpoint.benchmarks.OmlModelGenerator.ImportShape;
+
+/**
+ * A headless application that writes a synthetic OML project with {@link OmlModelGenerator}
+ */
+public class OmlGeneratorApplication implements IApplication {
+
+	private static final Integer EXIT_ERROR = Integer.valueOf(1);
+
+	@Override
+	public Object start(IApplicationContext context) throws Exception {
+		var arguments = parseArguments((String[]) context.getArguments().get(IApplicationContext.APPLICATION_ARGS));
+		if (!arguments.containsKey("output")) {
+			System.err.println("Usage: -output <folder> [-seed <n>] [-iri <iri>] [-vocabularies <n>] [-descriptions <n>] [-imports chain|star|tree|random] "
+				+ "[-entities <n>] [-depth <n>] [-fanout <n>] [-properties <n>] [-relations <n>] [-instances <n>] [-values <n>] [-links <n>] [-extension oml|omlxmi]");
+			return EXIT_ERROR;
+		}
+
+		var generator = new OmlModelGenerator();
+		if (arguments.containsKey("seed")) {
+			generator.setSeed(Long.parseLong(arguments.get("seed")));
+		}
+		if (arguments.containsKey("iri")) {
+			generator.setBaseIri(arguments.get("iri"));
+		}
+		if (arguments.containsKey("vocabularies")) {
+			generator.setVocabularyCount(Integer.parseInt(arguments.get("vocabularies")));
+		}
+		if (arguments.containsKey("descriptions")) {
+			generator.setDescriptionCount(Integer.parseInt(arguments.get("descriptions")));
+		}
+		if (arguments.containsKey("imports")) {
+			generator.setImportShape(ImportShape.valueOf(arguments.get("imports").toUpperCase(Locale.ROOT)));
+		}
+		if (arguments.containsKey("entities")) {
+			generator.setEntityCount(Integer.parseInt(arguments.get("entities")));
+		}
+		if (arguments.containsKey("depth")) {
+			generator.setSpecializationDepth(Integer.parseInt(arguments.get("depth")));
+		}
+		if (arguments.containsKey("fanout")) {
+			generator.setSpecializationFanOut(Integer.parseInt(arguments.get("fanout")));
+		}
+		if (arguments.containsKey("properties")) {
+			generator.setScalarPropertyCount(Integer.parseInt(arguments.get("properties")));
+		}
+		if (arguments.containsKey("relations")) {
+			generator.setRelationCount(Integer.parseInt(arguments.get("relations")));
+		}
+		if (arguments.containsKey("instances")) {
+			generator.setInstanceCount(Integer.parseInt(arguments.get("instances")));
+		}
+		if (arguments.containsKey("values")) {
+			generator.setValuesPerInstance(Integer.parseInt(arguments.get("values")));
+		}
+		if (arguments.containsKey("links")) {
+			generator.setRelationsPerInstance(Integer.parseInt(arguments.get("links")));
+		}
+		if (arguments.containsKey("extension")) {
+			generator.setExtension(arguments.get("extension"));
+		}
+
+		var model = generator.write(Paths.get(arguments.get("output")).toAbsolutePath());
+		System.out.println("Generated " + model.getOntologies().size() + " ontologies in " + arguments.get("output"));
+		return IApplication.EXIT_OK;
+	}
+
+	@Override
+	public void stop() {
+		// generation is not interruptible
+	}
+
+	private static Map<String, String> parseArguments(String[] args) {
+		var arguments = new HashMap<String, String>();
+		if (args != null) {
+			for (int i = 0; i + 1 < args.length; i++) {
+				if (args[i].startsWith("-") && !args[i + 1].startsWith("-")) {
+					arguments.put(args[i].substring(1), args[++i]);
+				}
+			}
+		}
+		return arguments;
+	}
+
+}
@@ -0,0 +1,599 @@
+/**
+ * 
+ * Copyright 2019-2021 California Institute of Technology ("Caltech").
+ * U.S. Government sponsorship acknowledged.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package io.opencaesar.rosetta.sirius.viewpoint.benchmarks;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+
+import io.opencaesar.oml.Description;
+import io.opencaesar.oml.DescriptionBundle;
+import io.opencaesar.oml.ImportKind;
+import io.opencaesar.oml.Literal;
+import io.opencaesar.oml.Ontology;
+import io.opencaesar.oml.Vocabulary;
+import io.opencaesar.oml.VocabularyBundle;
+import io.opencaesar.oml.util.OmlBuilder;
+import io.opencaesar.oml.util.OmlWrite;
+
+/**
+ * A generator of synthetic OML models for scale testing
+ */
+public final class OmlModelGenerator {
+
+	/**
+	 * The shapes of the import graph of the vocabularies and of the descriptions
+	 */
+	public enum ImportShape {
+		/**
+		 * Every ontology imports the previous one
+		 */
+		CHAIN,
+		/**
+		 * Every ontology imports the first one
+		 */
+		STAR,
+		/**
+		 * Every ontology imports its parent in a binary tree
+		 */
+		TREE,
+		/**
+		 * Every ontology imports up to three random previous ones
+		 */
+		RANDOM
+	}
+
+	/**
+	 * The generated ontologies
+	 * 
+	 * @param xsd The xsd vocabulary
+	 * @param vocabularies The vocabularies
+	 * @param vocabularyBundle The vocabulary bundle
+	 * @param descriptions The descriptions
+	 * @param descriptionBundle The description bundle
+	 */
+	public record Model(Vocabulary xsd, List<Vocabulary> vocabularies, VocabularyBundle vocabularyBundle, List<Description> descriptions, DescriptionBundle descriptionBundle) {
+
+		/**
+		 * @return All the generated ontologies
+		 */
+		public List<Ontology> getOntologies() {
+			var ontologies = new ArrayList<Ontology>();
+			ontologies.add(xsd);
+			ontologies.addAll(vocabularies);
+			ontologies.add(vocabularyBundle);
+			ontologies.addAll(descriptions);
+			ontologies.add(descriptionBundle);
+			return ontologies;
+		}
+	}
+
+	private static final String XSD = "http://www.w3.org/2001/XMLSchema#";
+
+	private static final String[] RANGES = { "string", "integer", "boolean", "double", "decimal" };
+
+	private long seed = 0;
+
+	private String baseIri = "http://example.com/generated";
+
+	private int vocabularyCount = 1;
+
+	private int entityCount = 100;
+
+	private int specializationDepth = 3;
+
+	private int specializationFanOut = 2;
+
+	private int scalarPropertyCount = 10;
+
+	private int relationCount = 10;
+
+	private ImportShape importShape = ImportShape.CHAIN;
+
+	private int descriptionCount = 1;
+
+	private int instanceCount = 1000;
+
+	private int valuesPerInstance = 1;
+
+	private int relationsPerInstance = 1;
+
+	private String extension = "oml";
+
+	/**
+	 * Sets the seed of the random choices (0 by default)
+	 * 
+	 * @param seed The seed
+	 * @return This generator
+	 */
+	public OmlModelGenerator setSeed(long seed) {
+		this.seed = seed;
+		return this;
+	}
+
+	/**
+	 * Sets the base iri of the generated ontologies (http://example.com/generated by default)
+	 * 
+	 * @param baseIri The base iri (an http iri without a trailing slash)
+	 * @return This generator
+	 */
+	public OmlModelGenerator setBaseIri(String baseIri) {
+		this.baseIri = baseIri.endsWith("/") ? baseIri.substring(0, baseIri.length() - 1) : baseIri;
+		return this;
+	}
+
+	/**
+	 * Sets the number of vocabularies (1 by default)
+	 * 
+	 * @param vocabularyCount The number of vocabularies
+	 * @return This generator
+	 */
+	public OmlModelGenerator setVocabularyCount(int vocabularyCount) {
+		this.vocabularyCount = Math.max(1, vocabularyCount);
+		return this;
+	}
+
+	/**
+	 * Sets the number of entities (concepts) across the vocabularies (100 by default)
+	 * 
+	 * @param entityCount The number of entities
+	 * @return This generator
+	 */
+	public OmlModelGenerator setEntityCount(int entityCount) {
+		this.entityCount = Math.max(1, entityCount);
+		return this;
+	}
+
+	/**
+	 * Sets the depth of the specialization trees of concepts in a vocabulary (3 by default)
+	 * 
+	 * @param specializationDepth The depth (0 for no specializations within a vocabulary)
+	 * @return This generator
+	 */
+	public OmlModelGenerator setSpecializationDepth(int specializationDepth) {
+		this.specializationDepth = Math.max(0, specializationDepth);
+		return this;
+	}
+
+	/**
+	 * Sets the number of sub concepts of a concept in a specialization tree (2 by default)
+	 * 
+	 * @param specializationFanOut The fan-out (0 for no specializations within a vocabulary)
+	 * @return This generator
+	 */
+	public OmlModelGenerator setSpecializationFanOut(int specializationFanOut) {
+		this.specializationFanOut = Math.max(0, specializationFanOut);
+		return this;
+	}
+
+	/**
+	 * Sets the number of scalar properties across the vocabularies (10 by default)
+	 * 
+	 * @param scalarPropertyCount The number of scalar properties
+	 * @return This generator
+	 */
+	public OmlModelGenerator setScalarPropertyCount(int scalarPropertyCount) {
+		this.scalarPropertyCount = Math.max(0, scalarPropertyCount);
+		return this;
+	}
+
+	/**
+	 * Sets the number of relation entities across the vocabularies (10 by default)
+	 * 
+	 * @param relationCount The number of relation entities
+	 * @return This generator
+	 */
+	public OmlModelGenerator setRelationCount(int relationCount) {
+		this.relationCount = Math.max(0, relationCount);
+		return this;
+	}
+
+	/**
+	 * Sets the shape of the import graphs of the vocabularies and of the descriptions (chain by default)
+	 * 
+	 * @param importShape The import shape
+	 * @return This generator
+	 */
+	public OmlModelGenerator setImportShape(ImportShape importShape) {
+		this.importShape = importShape;
+		return this;
+	}
+
+	/**
+	 * Sets the number of descriptions (1 by default)
+	 * 
+	 * @param descriptionCount The number of descriptions
+	 * @return This generator
+	 */
+	public OmlModelGenerator setDescriptionCount(int descriptionCount) {
+		this.descriptionCount = Math.max(1, descriptionCount);
+		return this;
+	}
+
+	/**
+	 * Sets the number of (concept) instances across the descriptions (1000 by default)
+	 * 
+	 * @param instanceCount The number of instances
+	 * @return This generator
+	 */
+	public OmlModelGenerator setInstanceCount(int instanceCount) {
+		this.instanceCount = Math.max(0, instanceCount);
+		return this;
+	}
+
+	/**
+	 * Sets the number of scalar property values of an instance (1 by default)
+	 * 
+	 * @param valuesPerInstance The number of scalar property values
+	 * @return This generator
+	 */
+	public OmlModelGenerator setValuesPerInstance(int valuesPerInstance) {
+		this.valuesPerInstance = Math.max(0, valuesPerInstance);
+		return this;
+	}
+
+	/**
+	 * Sets the number of links from an instance to other instances (1 by default)
+	 * 
+	 * @param relationsPerInstance The number of links
+	 * @return This generator
+	 */
+	public OmlModelGenerator setRelationsPerInstance(int relationsPerInstance) {
+		this.relationsPerInstance = Math.max(0, relationsPerInstance);
+		return this;
+	}
+
+	/**
+	 * Sets the file extension of the generated ontologies (oml by default)
+	 * 
+	 * @param extension The file extension (oml or omlxmi)
+	 * @return This generator
+	 */
+	public OmlModelGenerator setExtension(String extension) {
+		this.extension = extension;
+		return this;
+	}
+
+	/**
+	 * Generates the model in the given resource set
+	 * 
+	 * @param resourceSet The given resource set
+	 * @param folder The uri of the folder of the resources (ending with a slash)
+	 * @return The generated model
+	 */
+	public Model generate(ResourceSet resourceSet, URI folder) {
+		var random = new Random(seed);
+		var builder = new OmlBuilder(resourceSet);
+
+		// xsd vocabulary (integer specializes decimal as in the XML Schema)
+
+		var xsd = builder.createVocabulary(getUri(folder, "xsd"), XSD, "xsd");
+		for (String range : RANGES) {
+			builder.addScalar(xsd, range);
+		}
+		builder.addSpecializationAxiom(xsd, XSD + "integer", XSD + "decimal");
+
+		// vocabularies
+
+		var vocabularyImports = getImports(vocabularyCount, random);
+		var vocabularies = new ArrayList<Vocabulary>(vocabularyCount);
+		for (int v = 0; v < vocabularyCount; v++) {
+			var vocabulary = builder.createVocabulary(getUri(folder, "vocabulary/v" + v), getVocabularyNamespace(v), "v" + v);
+			builder.addImport(vocabulary, ImportKind.EXTENSION, XSD, "xsd");
+			for (int i : vocabularyImports.get(v)) {
+				builder.addImport(vocabulary, ImportKind.EXTENSION, getVocabularyNamespace(i), "v" + i);
+			}
+			vocabularies.add(vocabulary);
+		}
+
+		// concepts (in contiguous blocks per vocabulary)
+
+		var conceptVocabulary = new int[entityCount];
+		var conceptParent = new int[entityCount];
+		var firstConcept = new int[vocabularyCount + 1];
+		for (int c = 0; c < entityCount; c++) {
+			conceptVocabulary[c] = (int) ((long) c * vocabularyCount / entityCount);
+		}
+		for (int v = 0, c = 0; v <= vocabularyCount; v++) {
+			while (c < entityCount && conceptVocabulary[c] < v) {
+				c++;
+			}
+			firstConcept[v] = c;
+		}
+		var treeSize = getTreeSize();
+		for (int c = 0; c < entityCount; c++) {
+			var v = conceptVocabulary[c];
+			var position = (c - firstConcept[v]) % treeSize;
+			if (position > 0) {
+				conceptParent[c] = c - position + (position - 1) / specializationFanOut;
+			} else {
+				conceptParent[c] = randomConcept(vocabularyImports.get(v), firstConcept, random);
+			}
+			builder.addConcept(vocabularies.get(v), getConceptName(c));
+			if (conceptParent[c] >= 0) {
+				builder.addSpecializationAxiom(vocabularies.get(v), getConceptIri(conceptVocabulary, c), getConceptIri(conceptVocabulary, conceptParent[c]));
+			}
+		}
+
+		// scalar properties (defined in the vocabulary of their domain)
+
+		var propertiesByDomain = newLists(entityCount);
+		var propertyRanges = new int[scalarPropertyCount];
+		var propertyIris = new String[scalarPropertyCount];
+		for (int p = 0; p < scalarPropertyCount; p++) {
+			var domain = random.nextInt(entityCount);
+			var v = conceptVocabulary[domain];
+			propertyRanges[p] = random.nextInt(RANGES.length);
+			propertyIris[p] = builder.addScalarProperty(vocabularies.get(v), "p" + p, List.of(getConceptIri(conceptVocabulary, domain)), List.of(XSD + RANGES[propertyRanges[p]]), false).getIri();
+			propertiesByDomain.get(domain).add(p);
+		}
+
+		// relation entities (defined in the vocabulary of their source, targeting a concept in its scope)
+
+		var relationsBySource = newLists(entityCount);
+		var relationTargets = new int[relationCount];
+		var relationIris = new String[relationCount];
+		for (int r = 0; r < relationCount; r++) {
+			var source = random.nextInt(entityCount);
+			var v = conceptVocabulary[source];
+			var scope = new ArrayList<Integer>(vocabularyImports.get(v));
+			scope.add(v);
+			var target = randomConcept(scope, firstConcept, random);
+			relationTargets[r] = (target >= 0) ? target : source;
+			var entity = builder.addRelationEntity(vocabularies.get(v), "R" + r,
+				List.of(getConceptIri(conceptVocabulary, source)), List.of(getConceptIri(conceptVocabulary, relationTargets[r])),
+				false, false, false, false, false, false, false);
+			relationIris[r] = builder.addForwardRelation(entity, "r" + r).getIri();
+			relationsBySource.get(source).add(r);
+		}
+
+		// vocabulary bundle
+
+		var vocabularyBundle = builder.createVocabularyBundle(getUri(folder, "vocabularies"), baseIri + "/vocabularies#", "vocabularies");
+		for (int v = 0; v < vocabularyCount; v++) {
+			builder.addImport(vocabularyBundle, ImportKind.INCLUSION, getVocabularyNamespace(v), "v" + v);
+		}
+
+		// descriptions
+
+		var descriptionImports = getImports(descriptionCount, random);
+		var descriptions = new ArrayList<Description>(descriptionCount);
+		for (int d = 0; d < descriptionCount; d++) {
+			var description = builder.createDescription(getUri(folder, "description/d" + d), getDescriptionNamespace(d), "d" + d);
+			for (int v = 0; v < vocabularyCount; v++) {
+				builder.addImport(description, ImportKind.USAGE, getVocabularyNamespace(v), "v" + v);
+			}
+			for (int i : descriptionImports.get(d)) {
+				builder.addImport(description, ImportKind.EXTENSION, getDescriptionNamespace(i), "d" + i);
+			}
+			descriptions.add(description);
+		}
+
+		// instances (in contiguous blocks per description), typed first so links can target any of them
+
+		var instanceTypes = new int[instanceCount];
+		var instancesByKind = new ArrayList<List<List<Integer>>>(descriptionCount);
+		for (int d = 0; d < descriptionCount; d++) {
+			instancesByKind.add(newLists(entityCount));
+		}
+		for (int n = 0; n < instanceCount; n++) {
+			instanceTypes[n] = random.nextInt(entityCount);
+			var byKind = instancesByKind.get(getInstanceDescription(n));
+			for (int c = instanceTypes[n]; c >= 0; c = conceptParent[c]) {
+				byKind.get(c).add(n);
+			}
+		}
+		for (int n = 0; n < instanceCount; n++) {
+			var d = getInstanceDescription(n);
+			var description = descriptions.get(d);
+			var instanceIri = getDescriptionNamespace(d) + "i" + n;
+			builder.addConceptInstance(description, "i" + n);
+			builder.addTypeAssertion(description, instanceIri, getConceptIri(conceptVocabulary, instanceTypes[n]));
+
+			var properties = new ArrayList<Integer>();
+			var relations = new ArrayList<Integer>();
+			for (int c = instanceTypes[n]; c >= 0; c = conceptParent[c]) {
+				properties.addAll(propertiesByDomain.get(c));
+				relations.addAll(relationsBySource.get(c));
+			}
+			for (int i = 0; i < valuesPerInstance && !properties.isEmpty(); i++) {
+				var p = properties.get(random.nextInt(properties.size()));
+				builder.addPropertyValueAssertion(description, instanceIri, propertyIris[p], createLiteral(description, propertyRanges[p], random));
+			}
+			for (int i = 0; i < relationsPerInstance && !relations.isEmpty(); i++) {
+				var r = relations.get(random.nextInt(relations.size()));
+				var scope = new ArrayList<Integer>(descriptionImports.get(d));
+				scope.add(d);
+				var targetDescription = scope.get(random.nextInt(scope.size()));
+				var targets = instancesByKind.get(targetDescription).get(relationTargets[r]);
+				if (!targets.isEmpty()) {
+					var target = targets.get(random.nextInt(targets.size()));
+					builder.addPropertyValueAssertion(description, instanceIri, relationIris[r], getDescriptionNamespace(targetDescription) + "i" + target);
+				}
+			}
+		}
+
+		// description bundle
+
+		var descriptionBundle = builder.createDescriptionBundle(getUri(folder, "descriptions"), baseIri + "/descriptions#", "descriptions");
+		builder.addImport(descriptionBundle, ImportKind.USAGE, baseIri + "/vocabularies#", "vocabularies");
+		for (int d = 0; d < descriptionCount; d++) {
+			builder.addImport(descriptionBundle, ImportKind.INCLUSION, getDescriptionNamespace(d), "d" + d);
+		}
+
+		builder.finish();
+
+		return new Model(xsd, vocabularies, vocabularyBundle, descriptions, descriptionBundle);
+	}
+
+	/**
+	 * Generates the model and writes it as an OML project in the given folder
+	 * 
+	 * @param projectFolder The given project folder
+	 * @return The generated model
+	 * @throws IOException If the project cannot be written
+	 */
+	public Model write(Path projectFolder) throws IOException {
+		var segments = new ArrayList<String>();
+		try {
+			var base = new java.net.URI(baseIri);
+			segments.add(base.getHost());
+			for (String segment : base.getPath().split("/")) {
+				if (!segment.isBlank()) {
+					segments.add(segment);
+				}
+			}
+		} catch (URISyntaxException e) {
+			throw new IOException("Invalid base iri: " + baseIri, e);
+		}
+		var sourcePath = "src/oml/" + String.join("/", segments) + "/";
+		var sourceFolder = projectFolder.resolve(sourcePath);
+		Files.createDirectories(sourceFolder);
+
+		var catalog = "<?xml version=\"1.0\"?>\n"
+			+ "<catalog xmlns=\"urn:oasis:names:tc:entity:xmlns:xml:catalog\" prefer=\"public\">\n"
+			+ "\t<rewriteURI uriStartString=\"" + baseIri + "/\" rewritePrefix=\"" + sourcePath + "\"/>\n"
+			+ "\t<rewriteURI uriStartString=\"http://www.w3.org/2001/\" rewritePrefix=\"src/oml/www.w3.org/2001/\"/>\n"
+			+ "\t<rewriteURI uriStartString=\"http://\" rewritePrefix=\"build/oml/\"/>\n"
+			+ "</catalog>\n";
+		Files.writeString(projectFolder.resolve("catalog.xml"), catalog, StandardCharsets.UTF_8);
+
+		var model = generate(new ResourceSetImpl(), URI.createFileURI(sourceFolder.toAbsolutePath().toString() + "/"));
+		// the minimal xsd vocabulary is a source of the project (not a dependency), so a clean build keeps it
+		var xsdFile = projectFolder.resolve("src/oml/www.w3.org/2001/XMLSchema." + extension);
+		Files.createDirectories(xsdFile.getParent());
+		model.xsd().eResource().setURI(URI.createFileURI(xsdFile.toAbsolutePath().toString()));
+		for (Ontology ontology : model.getOntologies()) {
+			ontology.eResource().save(Collections.emptyMap());
+		}
+		return model;
+	}
+
+	private URI getUri(URI folder, String path) {
+		return URI.createURI(path + "." + extension).resolve(folder);
+	}
+
+	private String getVocabularyNamespace(int v) {
+		return baseIri + "/vocabulary/v" + v + "#";
+	}
+
+	private String getDescriptionNamespace(int d) {
+		return baseIri + "/description/d" + d + "#";
+	}
+
+	private static String getConceptName(int c) {
+		return "C" + c;
+	}
+
+	private String getConceptIri(int[] conceptVocabulary, int c) {
+		return getVocabularyNamespace(conceptVocabulary[c]) + getConceptName(c);
+	}
+
+	private int getInstanceDescription(int n) {
+		return (int) ((long) n * descriptionCount / Math.max(1, instanceCount));
+	}
+
+	private int getTreeSize() {
+		if (specializationDepth == 0 || specializationFanOut == 0) {
+			return 1;
+		}
+		long size = 0, level = 1;
+		for (int d = 0; d <= specializationDepth && size < entityCount; d++) {
+			size += level;
+			level *= specializationFanOut;
+		}
+		return (int) Math.min(size, Integer.MAX_VALUE);
+	}
+
+	private List<List<Integer>> getImports(int count, Random random) {
+		var imports = new ArrayList<List<Integer>>(count);
+		for (int i = 0; i < count; i++) {
+			var imported = new ArrayList<Integer>();
+			if (i > 0) {
+				switch (importShape) {
+					case CHAIN:
+						imported.add(i - 1);
+						break;
+					case STAR:
+						imported.add(0);
+						break;
+					case TREE:
+						imported.add((i - 1) / 2);
+						break;
+					case RANDOM:
+						var n = 1 + random.nextInt(Math.min(i, 3));
+						while (imported.size() < n) {
+							var j = random.nextInt(i);
+							if (!imported.contains(j)) {
+								imported.add(j);
+							}
+						}
+						Collections.sort(imported);
+						break;
+				}
+			}
+			imports.add(imported);
+		}
+		return imports;
+	}
+
+	private static int randomConcept(List<Integer> vocabularies, int[] firstConcept, Random random) {
+		var candidates = vocabularies.stream().filter(v -> firstConcept[v + 1] > firstConcept[v]).toList();
+		if (candidates.isEmpty()) {
+			return -1;
+		}
+		var v = candidates.get(random.nextInt(candidates.size()));
+		return firstConcept[v] + random.nextInt(firstConcept[v + 1] - firstConcept[v]);
+	}
+
+	private static Literal createLiteral(Ontology ontology, int range, Random random) {
+		switch (RANGES[range]) {
+			case "integer":
+				return OmlWrite.createIntegerLiteral(random.nextInt(1000));
+			case "boolean":
+				return OmlWrite.createBooleanLiteral(random.nextBoolean());
+			case "double":
+				return OmlWrite.createDoubleLiteral(random.nextDouble());
+			case "decimal":
+				return OmlWrite.createDecimalLiteral(BigDecimal.valueOf(random.nextInt(100000), 2));
+			default:
+				return OmlWrite.createQuotedLiteral(ontology, "value" + random.nextInt(1000), null, null);
+		}
+	}
+
+	private static List<List<Integer>> newLists(int count) {
+		var lists = new ArrayList<List<Integer>>(count);
+		for (int i = 0; i < count; i++) {
+			lists.add(new ArrayList<>());
+		}
+		return lists;
+	}
+
+}
@@ -0,0 +1,216 @@
+/**
+ * 
+ * Copyright 2019-2021 California Institute of Technology ("Caltech").
+ * U.S. Government sponsorship acknowledged.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package io.opencaesar.rosetta.sirius.viewpoint.benchmarks;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.ecore.resource.Resource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.opencaesar.oml.Concept;
+import io.opencaesar.oml.Element;
+import io.opencaesar.oml.NamedInstance;
+import io.opencaesar.oml.util.OmlRead;
+import io.opencaesar.rosetta.sirius.viewpoint.OmlServices;
+import io.opencaesar.rosetta.sirius.viewpoint.index.CardinalityIndex;
+import io.opencaesar.rosetta.sirius.viewpoint.index.ServiceCache;
+
+/**
+ * Benchmarks of the main entry points of the OML viewpoint services
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class OmlServicesBenchmark {
+
+	private static final int TARGET_COUNT = 1000;
+
+	/**
+	 * The number of calls of a cold benchmark invocation (at most the number of concepts of the model)
+	 */
+	private static final int BATCH = 50;
+
+	/**
+	 * The number of instances of the model
+	 */
+	@Param({ "1000", "10000", "100000", "1000000" })
+	public int size;
+
+	private BenchmarkModel model;
+
+	private String concept;
+
+	private String property;
+
+	private String relation;
+
+	private int next;
+
+	/**
+	 * Creates the model
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		model = BenchmarkModel.create(size);
+		concept = model.getAbbreviatedIri(model.concepts.get(0));
+		property = model.getAbbreviatedIri(model.property);
+		relation = model.getAbbreviatedIri(model.relation);
+	}
+
+	/**
+	 * Releases the model
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		model.description.eResource().getResourceSet().getResources().forEach(r -> r.unload());
+		model = null;
+	}
+
+	/**
+	 * A state that bounds the service cache of the model to no entries during each iteration, to measure the
+	 * services whose results are cached without clearing the cache before every (short) call
+	 */
+	@State(Scope.Thread)
+	public static class Uncached {
+
+		/**
+		 * Disables the caching of call results
+		 * 
+		 * @param benchmark The benchmark state
+		 */
+		@Setup(Level.Iteration)
+		public void disable(OmlServicesBenchmark benchmark) {
+			ServiceCache.get(benchmark.model.description).setMaximumSize(0);
+		}
+
+		/**
+		 * Restores the caching of call results
+		 * 
+		 * @param benchmark The benchmark state
+		 */
+		@TearDown(Level.Iteration)
+		public void restore(OmlServicesBenchmark benchmark) {
+			ServiceCache.get(benchmark.model.description).setMaximumSize(ServiceCache.DEFAULT_MAXIMUM_SIZE);
+		}
+	}
+
+	/**
+	 * A state that clears the cardinality index before every batch of {@link #BATCH} calls on distinct entities,
+	 * so the setup is amortized over an invocation long enough to be timed reliably
+	 */
+	@State(Scope.Thread)
+	public static class Cold {
+
+		/**
+		 * Clears the cardinality index
+		 * 
+		 * @param benchmark The benchmark state
+		 */
+		@Setup(Level.Invocation)
+		public void clear(OmlServicesBenchmark benchmark) {
+			CardinalityIndex.get(benchmark.model.description).clear();
+		}
+	}
+
+	private NamedInstance nextInstance() {
+		next = (next + 1) % model.instances.size();
+		return model.instances.get(next);
+	}
+
+	private Concept nextConcept() {
+		next = (next + 1) % model.concepts.size();
+		return model.concepts.get(next);
+	}
+
+	@Benchmark
+	public Set<Resource> getScope() {
+		return OmlServices.getScope(model.description);
+	}
+
+	@Benchmark
+	public Set<Resource> getImportScope() {
+		return OmlRead.getImportScope(model.description);
+	}
+
+	@Benchmark
+	public boolean findIsKindOf() {
+		return OmlServices.findIsKindOf(nextInstance(), concept);
+	}
+
+	@Benchmark
+	public Set<Element> findPropertyValues() {
+		return OmlServices.findPropertyValues(nextInstance(), property);
+	}
+
+	@Benchmark
+	public Collection<NamedInstance> findTargetInstancesRecursively() {
+		return OmlServices.findTargetInstancesRecursively(nextInstance(), relation, false, -1, TARGET_COUNT);
+	}
+
+	@Benchmark
+	public String getLabel() {
+		return io.opencaesar.rosetta.sirius.viewpoint.internal.OmlServices.getLabel(model.description, nextInstance());
+	}
+
+	@Benchmark
+	public String getLabelUncached(Uncached uncached) {
+		return io.opencaesar.rosetta.sirius.viewpoint.internal.OmlServices.getLabel(model.description, nextInstance());
+	}
+
+	@Benchmark
+	public String getMinCardinality() {
+		return io.opencaesar.rosetta.sirius.viewpoint.internal.OmlServices.getMinCardinality(nextConcept(), model.property);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public void getMinCardinalityCold(Cold cold, Blackhole blackhole) {
+		for (int i = 0; i < BATCH; i++) {
+			blackhole.consume(io.opencaesar.rosetta.sirius.viewpoint.internal.OmlServices.getMinCardinality(nextConcept(), model.property));
+		}
+	}
+
+	@Benchmark
+	public Set<NamedInstance> getVisualizableNamedInstances(Uncached uncached) {
+		return io.opencaesar.rosetta.sirius.viewpoint.internal.OmlServices.getVisualizableNamedInstances(model.description);
+	}
+
+	@Benchmark
+	public String getNewMemberName() {
+		return OmlServices.getNewMemberName(model.description, "i");
+	}
+
+}
@@ -26,6 +26,8 @@ import org.eclipse.sirius.viewpoint.description.Viewpoint;
 import org.eclipse.ui.plugin.AbstractUIPlugin;
 import org.osgi.framework.BundleContext;
 
+import io.opencaesar.rosetta.sirius.viewpoint.index.IriCatalogIndex;
+
 /**
  * The activator class controls the plug-in life cycle
  */
@@ -62,6 +64,7 @@ public class Activator extends AbstractUIPlugin {
      * @see org.eclipse.ui.plugin.AbstractUIPlugin#stop(org.osgi.framework.BundleContext)
      */
     public void stop(BundleContext context) throws Exception {
+	IriCatalogIndex.dispose();
 	plugin = null;
 	if (viewpoints != null) {
 	    for (final Viewpoint viewpoint: viewpoints) {
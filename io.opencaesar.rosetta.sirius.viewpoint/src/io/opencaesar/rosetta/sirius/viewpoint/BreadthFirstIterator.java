@@ -0,0 +1,141 @@
+/**
+ * 
+ * Copyright 2019-2021 California Institute of Technology ("Caltech").
+ * U.S. Government sponsorship acknowledged.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package io.opencaesar.rosetta.sirius.viewpoint;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+/**
+ * A lazy breadth-first iterator over the elements reachable from a root element
+ * 
+ * @param <T> The type of the elements
+ */
+class BreadthFirstIterator<T> implements Iterator<T> {
+
+	private final Function<T, ? extends Collection<? extends T>> successors;
+
+	private final int maxDepth;
+
+	private final int maxCount;
+
+	private final IProgressMonitor monitor;
+
+	private final Deque<T> queue = new ArrayDeque<>();
+
+	private final Deque<Integer> depths = new ArrayDeque<>();
+
+	private final Set<T> visited = new HashSet<>();
+
+	private T pending;
+
+	private int pendingDepth;
+
+	private int count;
+
+	/**
+	 * Creates a new breadth-first iterator
+	 * 
+	 * @param root The root element
+	 * @param includeRoot Whether the root element is returned by the iterator
+	 * @param successors The function that gives the successors of an element
+	 * @param maxDepth The maximum depth of returned elements, where the root is at depth 0 (negative for no limit)
+	 * @param maxCount The maximum number of returned elements (negative for no limit)
+	 * @param monitor The progress monitor checked for cancellation (can be null)
+	 * @throws OperationCanceledException from hasNext and next if the monitor is canceled
+	 */
+	BreadthFirstIterator(T root, boolean includeRoot, Function<T, ? extends Collection<? extends T>> successors, int maxDepth, int maxCount, IProgressMonitor monitor) {
+		this.successors = successors;
+		this.maxDepth = maxDepth;
+		this.maxCount = maxCount;
+		this.monitor = monitor;
+		visited.add(root);
+		if (includeRoot) {
+			queue.add(root);
+			depths.add(0);
+		} else {
+			pending = root;
+			pendingDepth = 0;
+		}
+	}
+
+	/**
+	 * Creates a sequential stream over the elements of the given iterator
+	 * 
+	 * @param <T> The type of the elements
+	 * @param iterator The given iterator
+	 * @return A stream of elements
+	 */
+	static <T> Stream<T> stream(BreadthFirstIterator<T> iterator) {
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL), false);
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (monitor != null && monitor.isCanceled()) {
+			// a canceled traversal must not pass for a complete (and cacheable) one
+			throw new OperationCanceledException();
+		}
+		if (maxCount >= 0 && count >= maxCount) {
+			return false;
+		}
+		if (pending != null) {
+			var element = pending;
+			pending = null;
+			expand(element, pendingDepth);
+		}
+		return !queue.isEmpty();
+	}
+
+	@Override
+	public T next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		var element = queue.poll();
+		pending = element;
+		pendingDepth = depths.poll();
+		count++;
+		return element;
+	}
+
+	private void expand(T element, int depth) {
+		if (maxDepth < 0 || depth < maxDepth) {
+			for (T successor : successors.apply(element)) {
+				if (successor != null && visited.add(successor)) {
+					queue.add(successor);
+					depths.add(depth + 1);
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,190 @@
+/**
+ * 
+ * Copyright 2019-2021 California Institute of Technology ("Caltech").
+ * U.S. Government sponsorship acknowledged.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package io.opencaesar.rosetta.sirius.viewpoint;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.ECrossReferenceAdapter;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+import io.opencaesar.oml.Element;
+import io.opencaesar.oml.Member;
+import io.opencaesar.oml.OmlPackage;
+
+/**
+ * Deletes many OML elements at once
+ */
+public final class BulkDelete {
+
+	private BulkDelete() {
+	}
+
+	/**
+	 * Deletes the given elements, their contents, and all the references to them
+	 * 
+	 * @param elements The given elements
+	 * @param recursive Whether the elements that depend on the deleted elements are also deleted (recursively)
+	 * @return The set of deleted elements (including contents)
+	 */
+	public static Set<EObject> delete(Collection<? extends EObject> elements, boolean recursive) {
+		var context = elements.stream().filter(e -> e.eResource() != null).findFirst().orElse(null);
+		if (context == null) {
+			elements.forEach(e -> EcoreUtil.remove(e));
+			return new LinkedHashSet<>(elements);
+		}
+		var label = recursive ? "Delete Recursively" : "Delete";
+		return OmlTransactions.call(context, label, () -> {
+			var crossReferencer = ECrossReferenceAdapter.getCrossReferenceAdapter(context);
+			if (crossReferencer == null) {
+				crossReferencer = getCrossReferenceAdapter(context.eResource().getResourceSet());
+			}
+			var deleted = collect(elements, recursive, crossReferencer);
+			// remove the references to the deleted elements from the remaining elements
+			for (EObject object : deleted) {
+				var settings = new ArrayList<>(crossReferencer.getInverseReferences(object, false));
+				for (EStructuralFeature.Setting setting : settings) {
+					var feature = setting.getEStructuralFeature();
+					if (isRemovable(setting) && !deleted.contains(setting.getEObject()) && feature.isChangeable()) {
+						EcoreUtil.remove(setting, object);
+					}
+				}
+			}
+			// detach the top most deleted elements
+			for (EObject object : deleted) {
+				if (object.eContainer() != null && !deleted.contains(object.eContainer())) {
+					EcoreUtil.remove(object);
+				}
+			}
+			return deleted;
+		});
+	}
+
+	/**
+	 * Gets the cross reference adapter of the given resource set (installing a new one if needed)
+	 * 
+	 * @param resourceSet The given resource set
+	 * @return A cross reference adapter
+	 */
+	public static ECrossReferenceAdapter getCrossReferenceAdapter(ResourceSet resourceSet) {
+		synchronized (resourceSet.eAdapters()) {
+			for (Adapter adapter : resourceSet.eAdapters()) {
+				if (adapter instanceof ECrossReferenceAdapter) {
+					return (ECrossReferenceAdapter) adapter;
+				}
+			}
+			var adapter = new ECrossReferenceAdapter();
+			resourceSet.eAdapters().add(adapter);
+			return adapter;
+		}
+	}
+
+	private static Set<EObject> collect(Collection<? extends EObject> elements, boolean recursive, ECrossReferenceAdapter crossReferencer) {
+		var deleted = new LinkedHashSet<EObject>();
+		var queue = new ArrayDeque<EObject>(elements);
+		while (!queue.isEmpty()) {
+			var object = queue.poll();
+			if (!deleted.add(object)) {
+				continue;
+			}
+			var added = new ArrayList<EObject>();
+			added.add(object);
+			object.eAllContents().forEachRemaining(o -> {
+				if (deleted.add(o)) {
+					added.add(o);
+				}
+			});
+			if (recursive) {
+				for (EObject o : added) {
+					for (EStructuralFeature.Setting setting : crossReferencer.getInverseReferences(o, false)) {
+						var referencer = setting.getEObject();
+						if (!deleted.contains(referencer) && isDependent(setting, o, deleted)) {
+							queue.add(referencer);
+						}
+					}
+				}
+			}
+		}
+		return deleted;
+	}
+
+	private static boolean isRemovable(EStructuralFeature.Setting setting) {
+		var feature = setting.getEStructuralFeature();
+		return setting.getEObject() instanceof Element
+			&& feature instanceof EReference
+			&& !((EReference) feature).isContainment()
+			&& !((EReference) feature).isContainer()
+			&& !feature.isDerived();
+	}
+
+	private static boolean isDependent(EStructuralFeature.Setting setting, EObject target, Set<EObject> deleted) {
+		if (!isRemovable(setting)) {
+			return false;
+		}
+		var referencer = setting.getEObject();
+		if (referencer instanceof Member && ((Member) referencer).getRef() == target) {
+			return true;
+		}
+		var feature = setting.getEStructuralFeature();
+		if (isValueReference(feature)) {
+			return hasNoValuesLeft(referencer, feature, deleted);
+		}
+		if (feature.getLowerBound() < 1) {
+			return false;
+		}
+		if (feature.isMany()) {
+			List<?> values = (List<?>) referencer.eGet(feature, false);
+			return deleted.containsAll(values == null ? Collections.emptyList() : values);
+		}
+		return true;
+	}
+
+	private static boolean isValueReference(EStructuralFeature feature) {
+		return feature == OmlPackage.Literals.PROPERTY_VALUE_ASSERTION__REFERENCED_VALUES
+			|| feature == OmlPackage.Literals.PROPERTY_VALUE_RESTRICTION_AXIOM__REFERENCED_VALUE;
+	}
+
+	/**
+	 * Checks whether all the values (contained or referenced by the given feature) of the given property value
+	 * assertion or restriction would be deleted
+	 */
+	private static boolean hasNoValuesLeft(EObject referencer, EStructuralFeature feature, Set<EObject> deleted) {
+		for (EReference reference : referencer.eClass().getEAllReferences()) {
+			if (!reference.isDerived() && (reference.isContainment() || reference == feature)) {
+				var value = referencer.eGet(reference, false);
+				List<?> values = reference.isMany() ? (List<?>) value : (value != null) ? List.of(value) : Collections.emptyList();
+				if (!deleted.containsAll(values)) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+}
@@ -18,16 +18,26 @@
  */
 package io.opencaesar.rosetta.sirius.viewpoint;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.sirius.diagram.DDiagram;
 import org.eclipse.sirius.diagram.DDiagramElement;
 import org.eclipse.sirius.diagram.DSemanticDiagram;
@@ -40,6 +50,7 @@ import io.opencaesar.oml.Description;
 import io.opencaesar.oml.DescriptionMember;
 import io.opencaesar.oml.Element;
 import io.opencaesar.oml.Entity;
+import io.opencaesar.oml.ForwardRelation;
 import io.opencaesar.oml.IdentifiedElement;
 import io.opencaesar.oml.Instance;
 import io.opencaesar.oml.Literal;
@@ -50,16 +61,27 @@ import io.opencaesar.oml.PropertyValueAssertion;
 import io.opencaesar.oml.Relation;
 import io.opencaesar.oml.RelationEntity;
 import io.opencaesar.oml.RelationInstance;
+import io.opencaesar.oml.ReverseRelation;
 import io.opencaesar.oml.ScalarProperty;
 import io.opencaesar.oml.SemanticProperty;
 import io.opencaesar.oml.Vocabulary;
 import io.opencaesar.oml.VocabularyMember;
 import io.opencaesar.oml.util.OmlBuilder;
-import io.opencaesar.oml.util.OmlDelete;
 import io.opencaesar.oml.util.OmlRead;
 import io.opencaesar.oml.util.OmlSearch;
-import io.opencaesar.oml.util.OmlSwitch;
 import io.opencaesar.oml.util.OmlWrite;
+import io.opencaesar.rosetta.sirius.viewpoint.index.AbbreviatedIriIndex;
+import io.opencaesar.rosetta.sirius.viewpoint.index.DescriptionInstanceCache;
+import io.opencaesar.rosetta.sirius.viewpoint.index.DiagramVisualizationIndex;
+import io.opencaesar.rosetta.sirius.viewpoint.index.ImportScopeCache;
+import io.opencaesar.rosetta.sirius.viewpoint.index.InverseRelationIndex;
+import io.opencaesar.rosetta.sirius.viewpoint.index.IriCatalogIndex;
+import io.opencaesar.rosetta.sirius.viewpoint.index.NameRegistry;
+import io.opencaesar.rosetta.sirius.viewpoint.index.PropertyValueIndex;
+import io.opencaesar.rosetta.sirius.viewpoint.index.RelationInstanceIndex;
+import io.opencaesar.rosetta.sirius.viewpoint.index.ServiceCache;
+import io.opencaesar.rosetta.sirius.viewpoint.index.SubsumptionIndex;
+import io.opencaesar.rosetta.sirius.viewpoint.metrics.ServiceMetrics;
 
 /**
  * Services used by Sirius viewpoints on OML models
@@ -74,8 +96,81 @@ import io.opencaesar.oml.util.OmlWrite;
  */
 public class OmlServices {
 
+	private static volatile boolean memoizationEnabled;
+
+	/**
+	 * Enables or disables the memoization of the results of the query services of this class
+	 * 
+	 * @param enabled Whether memoization is enabled
+	 */
+	public static void setMemoizationEnabled(boolean enabled) {
+		memoizationEnabled = enabled;
+	}
+
+	/**
+	 * Checks whether the results of the query services of this class are memoized
+	 * 
+	 * @return true if memoization is enabled; otherwise false
+	 */
+	public static boolean isMemoizationEnabled() {
+		return memoizationEnabled;
+	}
+
+	/**
+	 * Gets the result of the given service call from the service cache of the resource set of the given context
+	 * 
+	 * @param <T> The type of result
+	 * @param context The given context object
+	 * @param service The given name of the service
+	 * @param dependencies The objects whose changes invalidate the result (only computed on a miss)
+	 * @param compute The computation of the result
+	 * @param arguments The arguments of the call
+	 * @return The (possibly cached) result of the call
+	 */
+	protected static <T> T memoize(EObject context, String service, Supplier<? extends Collection<? extends EObject>> dependencies, Supplier<T> compute, Object... arguments) {
+		return ServiceCache.memoize(context, service, dependencies, compute, arguments);
+	}
+
+	private static <T> T memoizeIfEnabled(Element context, String service, Supplier<T> compute, Object... arguments) {
+		if (!memoizationEnabled) {
+			return compute.get();
+		}
+		return memoize(context, service, () -> ServiceCache.getScopeOntologies(context.getOntology()), compute, arguments);
+	}
+
+	/**
+	 * Gets the import scope of the ontology that defines the given element
+	 * 
+	 * @param element The given element
+	 * @return A set of resources in the import scope
+	 */
 	public static Set<Resource> getScope(Element element) {
-		return OmlRead.getImportScope(element.getOntology());
+		var ontology = element.getOntology();
+		var cache = ImportScopeCache.get(ontology);
+		return (cache != null) ? cache.getScope(ontology) : OmlRead.getImportScope(ontology);
+	}
+
+	/**
+	 * Resolves the member with the given abbreviated iri in the context of the given ontology
+	 * 
+	 * @param context The given context ontology
+	 * @param abbreviatedIri The given abbreviated iri of a member
+	 * @return The member with the given abbreviated iri, or null if none is found
+	 */
+	public static Member resolveMember(Ontology context, String abbreviatedIri) {
+		var index = AbbreviatedIriIndex.get(context);
+		return (index != null) ? index.getMember(context, abbreviatedIri) : OmlRead.getMemberByAbbreviatedIri(context, abbreviatedIri);
+	}
+
+	/**
+	 * Resolves the member with the given abbreviated iri in the context of the given resource set
+	 * 
+	 * @param resourceSet The given resource set
+	 * @param abbreviatedIri The given abbreviated iri of a member
+	 * @return The member with the given abbreviated iri, or null if none is found
+	 */
+	public static Member resolveMember(ResourceSet resourceSet, String abbreviatedIri) {
+		return AbbreviatedIriIndex.get(resourceSet).getMember(abbreviatedIri);
 	}
 	
 	/**
@@ -134,20 +229,52 @@ public class OmlServices {
 	/**
 	 * Gets a set of identified elements that are currently not visualized on the given diagram
 	 * 
-	 * @param diagram
-	 * @return
+	 * @param diagram The given diagram
+	 * @return A (read-only) set of identified elements
 	 */
 	public static Set<IdentifiedElement> getUnvisualizedElements(DDiagram diagram) {
-		var elements = new LinkedHashSet<IdentifiedElement>();
-		var visualized = getVisualizedElements(diagram);
-		var ontologies = OmlServices.getLoadedOntologies(diagram);
-		for (Ontology o : ontologies) {
-			elements.add(o); // add ontologies regardless of visibility
-			elements.addAll(OmlRead.getMembers(o).stream()
-					.filter(i -> !(visualized.contains(i)))
-					.collect(Collectors.toList()));
-		}
-		return elements;
+		return ServiceMetrics.time("getUnvisualizedElements(DDiagram)", () -> {
+			var index = DiagramVisualizationIndex.get(diagram);
+			if (index != null) {
+				return index.getUnvisualizedElements();
+			}
+			var elements = new LinkedHashSet<IdentifiedElement>();
+			var visualized = getVisualizedElements(diagram);
+			var ontologies = OmlServices.getLoadedOntologies(diagram);
+			for (Ontology o : ontologies) {
+				elements.add(o); // add ontologies regardless of visibility
+				elements.addAll(OmlRead.getMembers(o).stream()
+						.filter(i -> !(visualized.contains(i)))
+						.collect(Collectors.toList()));
+			}
+			return elements;
+		});
+	}
+
+	/**
+	 * Gets a page of the identified elements that are currently not visualized on the given diagram and whose
+	 * (abbreviated) iri contains the given filter text
+	 * 
+	 * @param diagram The given diagram
+	 * @param filter The given filter text (case insensitive, or empty to match all elements)
+	 * @param offset The number of matching elements to skip
+	 * @param limit The maximum number of matching elements to return (negative for no limit)
+	 * @return A list of identified elements
+	 */
+	public static List<IdentifiedElement> getUnvisualizedElements(DDiagram diagram, String filter, int offset, int limit) {
+		return ServiceMetrics.time("getUnvisualizedElements(DDiagram, String, int, int)", () -> DiagramVisualizationIndex.getMatchingElements(getUnvisualizedElements(diagram), filter, offset, limit));
+	}
+
+	/**
+	 * Counts the identified elements that are currently not visualized on the given diagram and whose
+	 * (abbreviated) iri contains the given filter text
+	 * 
+	 * @param diagram The given diagram
+	 * @param filter The given filter text (case insensitive, or empty to match all elements)
+	 * @return The number of matching elements
+	 */
+	public static int countUnvisualizedElements(DDiagram diagram, String filter) {
+		return ServiceMetrics.time("countUnvisualizedElements(DDiagram, String)", () -> DiagramVisualizationIndex.countMatchingElements(getUnvisualizedElements(diagram), filter));
 	}
 
 	/**
@@ -157,10 +284,16 @@ public class OmlServices {
 	 * @return A set of identified elements
 	 */
 	public static Set<IdentifiedElement> getVisualizedElements(DDiagram diagram) {
-		return diagram.getOwnedDiagramElements().stream()
-				.filter(e -> e.getTarget() instanceof IdentifiedElement)
-				.map(e -> (IdentifiedElement) e.getTarget())
-				.collect(Collectors.toSet());
+		return ServiceMetrics.time("getVisualizedElements(DDiagram)", () -> {
+			var index = DiagramVisualizationIndex.get(diagram);
+			if (index != null) {
+				return index.getVisualizedElements();
+			}
+			return diagram.getOwnedDiagramElements().stream()
+					.filter(e -> e.getTarget() instanceof IdentifiedElement)
+					.map(e -> (IdentifiedElement) e.getTarget())
+					.collect(Collectors.toSet());
+		});
 	}
 
 	//-----------
@@ -173,8 +306,16 @@ public class OmlServices {
 	 * @return true if the instance is of the kind; otherwise false
 	 */
     public static boolean findIsKindOf(Instance instance, String entityAbbreviatedIri) {
-    	var entity = OmlRead.getMemberByAbbreviatedIri(instance.getOntology(), entityAbbreviatedIri);
-		return (entity instanceof Entity) ? OmlSearch.findIsKindOf(instance, (Entity) entity, getScope(instance)) : false;
+    	return ServiceMetrics.time("findIsKindOf(Instance, String)", () -> memoizeIfEnabled(instance, "findIsKindOf", () -> computeIsKindOf(instance, entityAbbreviatedIri), instance, entityAbbreviatedIri));
+    }
+
+    private static boolean computeIsKindOf(Instance instance, String entityAbbreviatedIri) {
+    	var entity = resolveMember(instance.getOntology(), entityAbbreviatedIri);
+    	if (entity instanceof Entity) {
+    		var index = SubsumptionIndex.get(instance);
+    		return (index != null) ? index.isKindOf(instance, (Entity) entity, instance.getOntology()) : OmlSearch.findIsKindOf(instance, (Entity) entity, getScope(instance));
+    	}
+		return false;
 	}
 
     /**
@@ -185,8 +326,10 @@ public class OmlServices {
 	 * @return true if the instance is of the type; otherwise false
      */
     public static boolean findIsTypeOf(Instance instance, String entityAbbreviatedIri) {
-    	var entity = OmlRead.getMemberByAbbreviatedIri(instance.getOntology(), entityAbbreviatedIri);
-		return (entity instanceof Entity) ? OmlSearch.findIsTypeOf(instance, (Entity) entity, getScope(instance)) : false;
+    	return ServiceMetrics.time("findIsTypeOf(Instance, String)", () -> {
+	    	var entity = resolveMember(instance.getOntology(), entityAbbreviatedIri);
+			return (entity instanceof Entity) ? OmlSearch.findIsTypeOf(instance, (Entity) entity, getScope(instance)) : false;
+    	});
 	}
 
     /**
@@ -197,8 +340,14 @@ public class OmlServices {
 	 * @return true if the assertion references the property or a sub property; otherwise false
      */
     public static boolean findIsKindOf(PropertyValueAssertion assertion, String propertyAbbreviatedIri) {
-    	var property = OmlRead.getMemberByAbbreviatedIri(assertion.getOntology(), propertyAbbreviatedIri);
-		return (property instanceof SemanticProperty) ? OmlSearch.findIsSubTermOf(assertion.getProperty(), (SemanticProperty) property, getScope(assertion)) : false;
+    	return ServiceMetrics.time("findIsKindOf(PropertyValueAssertion, String)", () -> {
+	    	var property = resolveMember(assertion.getOntology(), propertyAbbreviatedIri);
+	    	if (property instanceof SemanticProperty) {
+	    		var index = SubsumptionIndex.get(assertion);
+	    		return (index != null) ? index.isSubTermOf(assertion.getProperty(), (SemanticProperty) property, assertion.getOntology()) : OmlSearch.findIsSubTermOf(assertion.getProperty(), (SemanticProperty) property, getScope(assertion));
+	    	}
+			return false;
+    	});
 	}
 
     /**
@@ -209,8 +358,10 @@ public class OmlServices {
 	 * @return true if the assertion references the property; otherwise false
      */
     public static boolean findIsTypeOf(PropertyValueAssertion assertion, String propertyAbbreviatedIri) {
-    	var property = OmlRead.getMemberByAbbreviatedIri(assertion.getOntology(), propertyAbbreviatedIri);
-		return (property instanceof SemanticProperty) ? assertion.getProperty() == property : false;
+    	return ServiceMetrics.time("findIsTypeOf(PropertyValueAssertion, String)", () -> {
+	    	var property = resolveMember(assertion.getOntology(), propertyAbbreviatedIri);
+			return (property instanceof SemanticProperty) ? assertion.getProperty() == property : false;
+    	});
 	}
 
     //--------------
@@ -223,7 +374,11 @@ public class OmlServices {
      * @return A set of elements representing annotation values
      */
     public static Set<Element> findAnnotationValues(IdentifiedElement element, String propertyAbbreviatedIri) {
-    	var property = OmlRead.getMemberByAbbreviatedIri(element.getOntology(), propertyAbbreviatedIri);
+    	return ServiceMetrics.time("findAnnotationValues(IdentifiedElement, String)", () -> memoizeIfEnabled(element, "findAnnotationValues", () -> computeAnnotationValues(element, propertyAbbreviatedIri), element, propertyAbbreviatedIri));
+    }
+
+    private static Set<Element> computeAnnotationValues(IdentifiedElement element, String propertyAbbreviatedIri) {
+    	var property = resolveMember(element.getOntology(), propertyAbbreviatedIri);
    		return (property instanceof AnnotationProperty) ? OmlSearch.findAnnotationValues(element, (AnnotationProperty) property, getScope(element)) : Collections.emptySet();
 	}
 
@@ -235,8 +390,28 @@ public class OmlServices {
      * @return An element representing the first annotation value
      */
     public static Element findAnnotationValue(IdentifiedElement element, String propertyAbbreviatedIri) {
-		Set<Element> values = findAnnotationValues(element, propertyAbbreviatedIri);
-		return values.iterator().next();
+		return ServiceMetrics.time("findAnnotationValue(IdentifiedElement, String)", () -> streamAnnotationValues(element, propertyAbbreviatedIri).findFirst().orElseThrow());
+	}
+
+    /**
+     * Streams the values of an annotation property with the given abbreviated iri on the given element
+     * 
+     * @param element The given identified element
+     * @param propertyAbbreviatedIri The given property abbreviated iri
+     * @return A stream of (distinct) elements representing annotation values
+     */
+    public static Stream<Element> streamAnnotationValues(IdentifiedElement element, String propertyAbbreviatedIri) {
+    	return ServiceMetrics.time("streamAnnotationValues(IdentifiedElement, String)", () -> {
+	    	var property = resolveMember(element.getOntology(), propertyAbbreviatedIri);
+	    	if (!(property instanceof AnnotationProperty)) {
+	    		return Stream.empty();
+	    	}
+	    	var ownedValues = element.getOwnedAnnotations().stream()
+	    		.filter(a -> a.getProperty() == property)
+	    		.flatMap(a -> a.getValues().stream());
+	    	var allValues = lazily(() -> OmlSearch.findAnnotationValues(element, (AnnotationProperty) property, getScope(element)));
+	    	return Stream.concat(ownedValues, allValues).distinct();
+    	});
 	}
 
     /**
@@ -247,8 +422,10 @@ public class OmlServices {
      * @return An element representing the first annotation value
      */
     public static boolean findIsAnnotatedBy(IdentifiedElement element, String propertyAbbreviatedIri) {
-    	var property = OmlRead.getMemberByAbbreviatedIri(element.getOntology(), propertyAbbreviatedIri);
-		return (property instanceof AnnotationProperty) ? OmlSearch.findIsAnnotatedBy(element, (AnnotationProperty) property, getScope(element)) : false;
+    	return ServiceMetrics.time("findIsAnnotatedBy(IdentifiedElement, String)", () -> {
+	    	var property = resolveMember(element.getOntology(), propertyAbbreviatedIri);
+			return (property instanceof AnnotationProperty) ? OmlSearch.findIsAnnotatedBy(element, (AnnotationProperty) property, getScope(element)) : false;
+    	});
 	}
 
     /**
@@ -259,7 +436,11 @@ public class OmlServices {
      * @return A set of elements representing the property value
      */
     public static Set<Element> findPropertyValues(Instance instance, String propertyAbbreviatedIri) {
-    	var property = OmlRead.getMemberByAbbreviatedIri(instance.getOntology(), propertyAbbreviatedIri);
+    	return ServiceMetrics.time("findPropertyValues(Instance, String)", () -> memoizeIfEnabled(instance, "findPropertyValues", () -> computePropertyValues(instance, propertyAbbreviatedIri), instance, propertyAbbreviatedIri));
+    }
+
+    private static Set<Element> computePropertyValues(Instance instance, String propertyAbbreviatedIri) {
+    	var property = resolveMember(instance.getOntology(), propertyAbbreviatedIri);
 		return (property instanceof SemanticProperty) ? OmlSearch.findPropertyValues(instance, (SemanticProperty) property, getScope(instance)) : Collections.emptySet();
 	}
 
@@ -271,245 +452,714 @@ public class OmlServices {
      * @return An element representing the first property value
      */
     public static Element findPropertyValue(Instance instance, String propertyAbbreviatedIri) {
-		Set<Element> values = findPropertyValues(instance, propertyAbbreviatedIri);
-		return values.iterator().next();
+		return ServiceMetrics.time("findPropertyValue(Instance, String)", () -> streamPropertyValues(instance, propertyAbbreviatedIri).findFirst().orElseThrow());
 	}
 
+    /**
+     * Streams the values of a property with the given abbreviated iri set on the given instance
+     * 
+     * @param instance The given instance
+     * @param propertyAbbreviatedIri The given property abbreviated iri
+     * @return A stream of (distinct) elements representing the property values
+     */
+    public static Stream<Element> streamPropertyValues(Instance instance, String propertyAbbreviatedIri) {
+    	return ServiceMetrics.time("streamPropertyValues(Instance, String)", () -> {
+	    	var property = resolveMember(instance.getOntology(), propertyAbbreviatedIri);
+	    	if (!(property instanceof SemanticProperty)) {
+	    		return Stream.empty();
+	    	}
+	    	var ownedValues = getOwnedAssertions(instance, (SemanticProperty) property)
+	    		.flatMap(a -> a.getValues().stream());
+	    	var allValues = lazily(() -> OmlSearch.findPropertyValues(instance, (SemanticProperty) property, getScope(instance)));
+	    	return Stream.concat(ownedValues, allValues).distinct();
+    	});
+	}
+
+    private static Stream<PropertyValueAssertion> getOwnedAssertions(Instance instance, SemanticProperty property) {
+    	var index = PropertyValueIndex.get(instance);
+    	return (index != null) ?
+    		index.getAssertions(instance, property).stream() :
+    		instance.getOwnedPropertyValues().stream().filter(a -> a.getProperty() == property);
+    }
+
+    private static <T> Stream<T> lazily(Supplier<? extends Collection<? extends T>> supplier) {
+    	return Stream.of(supplier).flatMap(s -> s.get().stream());
+    }
+
     //------------------
     
     public static Set<NamedInstance> findTargetInstances(Instance source, String relationyAbbreviatedIri) {
-    	var relation = OmlRead.getMemberByAbbreviatedIri(source.getOntology(), relationyAbbreviatedIri);
-		return (relation instanceof Relation) ? OmlSearch.findInstancesRelatedAsTargetTo(source, (Relation) relation, getScope(source)) : Collections.emptySet();
+    	return ServiceMetrics.time("findTargetInstances(Instance, String)", () -> {
+	    	var relation = resolveMember(source.getOntology(), relationyAbbreviatedIri);
+			return (relation instanceof Relation) ? findTargetInstances(source, (Relation) relation) : Collections.emptySet();
+    	});
+    }
+
+    private static Set<NamedInstance> findTargetInstances(Instance source, Relation relation) {
+		return OmlSearch.findInstancesRelatedAsTargetTo(source, relation, getScope(source));
 	}
 
     public static Collection<NamedInstance> findTargetInstancesRecursively(Instance source, String relationyAbbreviatedIri, boolean includeRoot) {
-		return OmlRead.closure(source, includeRoot, i -> findTargetInstances(i, relationyAbbreviatedIri));
+    	return ServiceMetrics.time("findTargetInstancesRecursively(Instance, String, boolean)", () -> OmlRead.closure(source, includeRoot, i -> findTargetInstances(i, relationyAbbreviatedIri)));
+    }
+
+    /**
+     * Finds the target instances recursively related to a given source instance by a given relation, up to
+     * the given depth and count
+     * 
+     * @param source The given source instance
+     * @param relationyAbbreviatedIri The given relation abbreviated iri
+     * @param includeRoot Whether to include the source instance (if it is named) in the result
+     * @param maxDepth The maximum number of relation hops from the source instance (negative for no limit)
+     * @param maxCount The maximum number of instances to find (negative for no limit)
+     * @return A list of target instances in breadth-first order
+     */
+    public static List<NamedInstance> findTargetInstancesRecursively(Instance source, String relationyAbbreviatedIri, boolean includeRoot, int maxDepth, int maxCount) {
+		return ServiceMetrics.time("findTargetInstancesRecursively(Instance, String, boolean, int, int)", () -> streamTargetInstancesRecursively(source, relationyAbbreviatedIri, includeRoot, maxDepth, maxCount, null).collect(Collectors.toList()));
+    }
+
+    /**
+     * Streams the target instances recursively related to a given source instance by a given relation
+     * 
+     * @param source The given source instance
+     * @param relationyAbbreviatedIri The given relation abbreviated iri
+     * @param includeRoot Whether to include the source instance (if it is named) in the stream
+     * @param maxDepth The maximum number of relation hops from the source instance (negative for no limit)
+     * @param maxCount The maximum number of instances to stream (negative for no limit)
+     * @param monitor The progress monitor checked for cancellation (can be null)
+     * @return A stream of target instances in breadth-first order
+     * @throws OperationCanceledException when the stream is consumed after the monitor is canceled
+     */
+    public static Stream<NamedInstance> streamTargetInstancesRecursively(Instance source, String relationyAbbreviatedIri, boolean includeRoot, int maxDepth, int maxCount, IProgressMonitor monitor) {
+    	return ServiceMetrics.time("streamTargetInstancesRecursively(Instance, String, boolean, int, int, IProgressMonitor)", () -> {
+	    	var relation = resolveMember(source.getOntology(), relationyAbbreviatedIri);
+	    	if (!(relation instanceof Relation)) {
+	    		return (includeRoot && source instanceof NamedInstance && maxCount != 0) ? Stream.of((NamedInstance) source) : Stream.empty();
+	    	}
+	    	var iterator = new BreadthFirstIterator<Instance>(source, includeRoot && source instanceof NamedInstance, i -> findTargetInstances(i, (Relation) relation), maxDepth, maxCount, monitor);
+			return BreadthFirstIterator.stream(iterator).map(i -> (NamedInstance) i);
+    	});
     }
 
     public static NamedInstance findTargetInstance(Instance source, String relationyAbbreviatedIri) {
-		Set<NamedInstance> instances = findTargetInstances(source, relationyAbbreviatedIri);
-		return instances.iterator().next();
+		return ServiceMetrics.time("findTargetInstance(Instance, String)", () -> streamTargetInstances(source, relationyAbbreviatedIri).findFirst().orElseThrow());
+	}
+
+    /**
+     * Streams the target instances related to a given source instance by a given relation
+     * 
+     * @param source The given source instance
+     * @param relationyAbbreviatedIri The given relation abbreviated iri
+     * @return A stream of (distinct) target instances
+     */
+    public static Stream<NamedInstance> streamTargetInstances(Instance source, String relationyAbbreviatedIri) {
+    	return ServiceMetrics.time("streamTargetInstances(Instance, String)", () -> {
+	    	var relation = resolveMember(source.getOntology(), relationyAbbreviatedIri);
+	    	if (!(relation instanceof Relation)) {
+	    		return Stream.empty();
+	    	}
+	    	var linkedInstances = getOwnedAssertions(source, (Relation) relation)
+	    		.flatMap(a -> a.getReferencedValues().stream());
+	    	var allInstances = lazily(() -> findTargetInstances(source, (Relation) relation));
+	    	return Stream.concat(linkedInstances, allInstances).distinct();
+    	});
 	}
 
     public static Set<Instance> findSourceInstances(Instance target, String relationyAbbreviatedIri) {
-    	var relation = OmlRead.getMemberByAbbreviatedIri(target.eResource().getResourceSet(), relationyAbbreviatedIri);
-		if (relation instanceof Relation && target instanceof NamedInstance) {
-			return OmlSearch.findInstancesRelatedAsSourceTo((NamedInstance)target, (Relation) relation, getScope(target));
+    	return ServiceMetrics.time("findSourceInstances(Instance, String)", () -> {
+	    	var relation = resolveMember(target.eResource().getResourceSet(), relationyAbbreviatedIri);
+			return (relation instanceof Relation) ? findSourceInstances(target, (Relation) relation) : Collections.emptySet();
+    	});
+    }
+
+    private static Set<Instance> findSourceInstances(Instance target, Relation relation) {
+		if (target instanceof NamedInstance) {
+			var index = InverseRelationIndex.get(target);
+			if (index != null && !(relation instanceof ReverseRelation)) {
+				var scope = getScope(target);
+				var sources = index.getSources((NamedInstance)target, relation, scope);
+				if (relation instanceof ForwardRelation) {
+					var entity = ((ForwardRelation) relation).getRelationEntity();
+					var relationInstances = RelationInstanceIndex.get(target);
+					relationInstances.getIncomingRelationInstances((NamedInstance)target, entity, true, target.getOntology())
+						.forEach(i -> sources.addAll(relationInstances.getSources(i, scope)));
+				}
+				return sources;
+			}
+			return OmlSearch.findInstancesRelatedAsSourceTo((NamedInstance)target, relation, getScope(target));
 		}
 		return Collections.emptySet();
 	}
 
     public static Collection<Instance> findSourceInstancesRecursively(NamedInstance target, String relationyAbbreviatedIri, boolean includeRoot) {
-		return OmlRead.closure(target, includeRoot, i -> findSourceInstances(i, relationyAbbreviatedIri));
+    	return ServiceMetrics.time("findSourceInstancesRecursively(NamedInstance, String, boolean)", () -> OmlRead.closure(target, includeRoot, i -> findSourceInstances(i, relationyAbbreviatedIri)));
+    }
+
+    /**
+     * Finds the source instances recursively related to a given target instance by a given relation, up to
+     * the given depth and count
+     * 
+     * @param target The given target instance
+     * @param relationyAbbreviatedIri The given relation abbreviated iri
+     * @param includeRoot Whether to include the target instance in the result
+     * @param maxDepth The maximum number of relation hops from the target instance (negative for no limit)
+     * @param maxCount The maximum number of instances to find (negative for no limit)
+     * @return A list of source instances in breadth-first order
+     */
+    public static List<Instance> findSourceInstancesRecursively(NamedInstance target, String relationyAbbreviatedIri, boolean includeRoot, int maxDepth, int maxCount) {
+		return ServiceMetrics.time("findSourceInstancesRecursively(NamedInstance, String, boolean, int, int)", () -> streamSourceInstancesRecursively(target, relationyAbbreviatedIri, includeRoot, maxDepth, maxCount, null).collect(Collectors.toList()));
+    }
+
+    /**
+     * Streams the source instances recursively related to a given target instance by a given relation
+     * 
+     * @param target The given target instance
+     * @param relationyAbbreviatedIri The given relation abbreviated iri
+     * @param includeRoot Whether to include the target instance in the stream
+     * @param maxDepth The maximum number of relation hops from the target instance (negative for no limit)
+     * @param maxCount The maximum number of instances to stream (negative for no limit)
+     * @param monitor The progress monitor checked for cancellation (can be null)
+     * @return A stream of source instances in breadth-first order
+     * @throws OperationCanceledException when the stream is consumed after the monitor is canceled
+     */
+    public static Stream<Instance> streamSourceInstancesRecursively(NamedInstance target, String relationyAbbreviatedIri, boolean includeRoot, int maxDepth, int maxCount, IProgressMonitor monitor) {
+    	return ServiceMetrics.time("streamSourceInstancesRecursively(NamedInstance, String, boolean, int, int, IProgressMonitor)", () -> {
+	    	var relation = resolveMember(target.eResource().getResourceSet(), relationyAbbreviatedIri);
+	    	if (!(relation instanceof Relation)) {
+	    		return (includeRoot && maxCount != 0) ? Stream.of(target) : Stream.empty();
+	    	}
+	    	var iterator = new BreadthFirstIterator<Instance>(target, includeRoot, i -> findSourceInstances(i, (Relation) relation), maxDepth, maxCount, monitor);
+			return BreadthFirstIterator.stream(iterator);
+    	});
     }
 
     public static Instance findSourceInstance(NamedInstance taget, String relationyAbbreviatedIri) {
-		Set<Instance> instances = findSourceInstances(taget, relationyAbbreviatedIri);
-		return instances.iterator().next();
+		return ServiceMetrics.time("findSourceInstance(NamedInstance, String)", () -> streamSourceInstances(taget, relationyAbbreviatedIri).findFirst().orElseThrow());
+	}
+
+    /**
+     * Streams the source instances related to a given target instance by a given relation
+     * 
+     * @param target The given target instance
+     * @param relationyAbbreviatedIri The given relation abbreviated iri
+     * @return A stream of (distinct) source instances
+     */
+    public static Stream<Instance> streamSourceInstances(NamedInstance target, String relationyAbbreviatedIri) {
+    	return ServiceMetrics.time("streamSourceInstances(NamedInstance, String)", () -> {
+	    	var relation = resolveMember(target.eResource().getResourceSet(), relationyAbbreviatedIri);
+	    	if (!(relation instanceof Relation)) {
+	    		return Stream.empty();
+	    	}
+			var index = InverseRelationIndex.get(target);
+			if (index == null || relation instanceof ReverseRelation) {
+				return lazily(() -> findSourceInstances(target, (Relation) relation));
+			}
+			var scope = getScope(target);
+			var linkingInstances = lazily(() -> index.getSources(target, (Relation) relation, scope));
+			if (!(relation instanceof ForwardRelation)) {
+				return linkingInstances;
+			}
+			var entity = ((ForwardRelation) relation).getRelationEntity();
+			var relationInstances = RelationInstanceIndex.get(target);
+			var relatingInstances = lazily(() -> relationInstances.getIncomingRelationInstances(target, entity, true, target.getOntology()))
+				.flatMap(i -> relationInstances.getSources(i, scope).stream());
+			return Stream.concat(linkingInstances, relatingInstances).distinct();
+    	});
 	}
 
     public static Set<RelationInstance> findOutgoingRelationInstances(NamedInstance source, String relationyEntityAbbreviatedIri) {
-    	final var relationEntity = (RelationEntity) OmlRead.getMemberByAbbreviatedIri(source.getOntology(), relationyEntityAbbreviatedIri);
-    	if (relationEntity instanceof RelationEntity) {
-			var relationInstances = OmlSearch.findRelationInstancesWithSource(source, getScope(source));
-			relationInstances.removeIf(i -> !OmlSearch.findTypes(i, getScope(source)).contains(relationEntity));
-			return relationInstances;
-    	}
-    	return Collections.emptySet();
+		return ServiceMetrics.time("findOutgoingRelationInstances(NamedInstance, String)", () -> findOutgoingRelationInstances(source, relationyEntityAbbreviatedIri, false));
+	}
+
+    /**
+     * Finds the relation instances that have a given source instance and are typed by a given relation entity
+     * 
+     * @param source The given source instance
+     * @param relationyEntityAbbreviatedIri The given relation entity abbreviated iri
+     * @param includeSubtypes Whether relation instances typed by sub types of the relation entity are also included
+     * @return A set of relation instances
+     */
+    public static Set<RelationInstance> findOutgoingRelationInstances(NamedInstance source, String relationyEntityAbbreviatedIri, boolean includeSubtypes) {
+    	return ServiceMetrics.time("findOutgoingRelationInstances(NamedInstance, String, boolean)", () -> {
+	    	final var relationEntity = resolveMember(source.getOntology(), relationyEntityAbbreviatedIri);
+	    	if (relationEntity instanceof RelationEntity) {
+				var index = RelationInstanceIndex.get(source);
+				if (index != null) {
+					return index.getOutgoingRelationInstances(source, (RelationEntity) relationEntity, includeSubtypes, source.getOntology());
+				}
+				var scope = getScope(source);
+				var relationInstances = OmlSearch.findRelationInstancesWithSource(source, scope);
+				relationInstances.removeIf(i -> !isTypedBy(i, (RelationEntity) relationEntity, includeSubtypes, scope));
+				return relationInstances;
+	    	}
+	    	return Collections.emptySet();
+    	});
 	}
 
     public static Set<RelationInstance> findIncomingRelationInstances(NamedInstance target, String relationyEntityAbbreviatedIri) {
-    	final var relationEntity = (RelationEntity) OmlRead.getMemberByAbbreviatedIri(target.getOntology(), relationyEntityAbbreviatedIri);
-    	if (relationEntity instanceof RelationEntity) {
-			var relationInstances = OmlSearch.findRelationInstancesWithTarget(target, getScope(target));
-			relationInstances.removeIf(i -> !OmlSearch.findTypes(i, getScope(target)).contains(relationEntity));
-			return relationInstances;
-    	}
-    	return Collections.emptySet();
+		return ServiceMetrics.time("findIncomingRelationInstances(NamedInstance, String)", () -> findIncomingRelationInstances(target, relationyEntityAbbreviatedIri, false));
+	}
+
+    /**
+     * Finds the relation instances that have a given target instance and are typed by a given relation entity
+     * 
+     * @param target The given target instance
+     * @param relationyEntityAbbreviatedIri The given relation entity abbreviated iri
+     * @param includeSubtypes Whether relation instances typed by sub types of the relation entity are also included
+     * @return A set of relation instances
+     */
+    public static Set<RelationInstance> findIncomingRelationInstances(NamedInstance target, String relationyEntityAbbreviatedIri, boolean includeSubtypes) {
+    	return ServiceMetrics.time("findIncomingRelationInstances(NamedInstance, String, boolean)", () -> {
+	    	final var relationEntity = resolveMember(target.getOntology(), relationyEntityAbbreviatedIri);
+	    	if (relationEntity instanceof RelationEntity) {
+				var index = RelationInstanceIndex.get(target);
+				if (index != null) {
+					return index.getIncomingRelationInstances(target, (RelationEntity) relationEntity, includeSubtypes, target.getOntology());
+				}
+				var scope = getScope(target);
+				var relationInstances = OmlSearch.findRelationInstancesWithTarget(target, scope);
+				relationInstances.removeIf(i -> !isTypedBy(i, (RelationEntity) relationEntity, includeSubtypes, scope));
+				return relationInstances;
+	    	}
+	    	return Collections.emptySet();
+    	});
 	}
 
+    private static boolean isTypedBy(RelationInstance instance, RelationEntity relationEntity, boolean includeSubtypes, Set<Resource> scope) {
+		return includeSubtypes ? OmlSearch.findIsKindOf(instance, relationEntity, scope) : OmlSearch.findTypes(instance, scope).contains(relationEntity);
+    }
+
     //----------------
     
     public static List<PropertyValueAssertion> getPropertyValueAssertions(Instance instance, String propertyAbbreviatedIri) {
-		return instance.getOwnedPropertyValues().stream()
-    		.filter(a -> a.getProperty().getAbbreviatedIri().equals(propertyAbbreviatedIri))
-            .collect(Collectors.toList());
+    	return ServiceMetrics.time("getPropertyValueAssertions(Instance, String)", () -> {
+	    	var index = PropertyValueIndex.get(instance);
+	    	if (index != null) {
+	    		var property = resolveMember(instance.getOntology(), propertyAbbreviatedIri);
+	    		if (property instanceof SemanticProperty) {
+	    			return new ArrayList<>(index.getAssertions(instance, (SemanticProperty) property));
+	    		}
+	    	}
+			return instance.getOwnedPropertyValues().stream()
+	    		.filter(a -> a.getProperty().getAbbreviatedIri().equals(propertyAbbreviatedIri))
+	            .collect(Collectors.toList());
+    	});
 	}
 
 	public static List<Element> getPropertyValues(Instance instance, String propertyAbbreviatedIri) {
-		return instance.getOwnedPropertyValues().stream()
-    		.filter(a -> a.getProperty().getAbbreviatedIri().equals(propertyAbbreviatedIri))
-    		.flatMap(a -> a.getValues().stream())
-            .collect(Collectors.toList());
+		return ServiceMetrics.time("getPropertyValues(Instance, String)", () -> {
+			return getPropertyValueAssertions(instance, propertyAbbreviatedIri).stream()
+	    		.flatMap(a -> a.getValues().stream())
+	            .collect(Collectors.toList());
+		});
 	}
 
 	public static ConceptInstance createConceptInstance(Description context, String typeAbbreviatedIri) {
-    	var type = OmlRead.getMemberByAbbreviatedIri(context.eResource().getResourceSet(), typeAbbreviatedIri);
-    	if (type instanceof Entity) {
-	    	var builder = new OmlBuilder(context.eResource().getResourceSet());
-	    	var instance = builder.addConceptInstance(context, getNewMemberName(context, ((Entity)type).getName()));
-	    	builder.addTypeAssertion(context, instance.getIri(), type.getIri());
-	    	builder.finish();
-	    	return instance;
-    	}
-    	return null;
+    	return ServiceMetrics.time("createConceptInstance(Description, String)", () -> {
+	    	var type = resolveMember(context.eResource().getResourceSet(), typeAbbreviatedIri);
+	    	if (type instanceof Entity) {
+		    	var builder = new OmlBuilder(context.eResource().getResourceSet());
+		    	var instance = builder.addConceptInstance(context, getNewMemberName(context, ((Entity)type).getName()));
+		    	builder.addTypeAssertion(context, instance.getIri(), type.getIri());
+		    	builder.finish();
+		    	return instance;
+	    	}
+	    	return null;
+    	});
     }
 
     public static ConceptInstance createConceptInstance(Description context, String typeAbbreviatedIri, Instance source, String relationAbbreviatedIri) {
-    	var type = OmlRead.getMemberByAbbreviatedIri(context, typeAbbreviatedIri);
-    	var relation = OmlRead.getMemberByAbbreviatedIri(context, relationAbbreviatedIri);
-    	if (type instanceof Entity && relation instanceof Relation) {
-	    	var builder = new OmlBuilder(context.eResource().getResourceSet());
-	    	var instance = builder.addConceptInstance(context, getNewMemberName(context, ((Entity)type).getName()));
-	    	builder.addTypeAssertion(context, instance.getIri(), type.getIri());
-	    	var owner = (source instanceof NamedInstance) ? ((NamedInstance)source).getIri() : source;
-	    	builder.addPropertyValueAssertion(context, owner, relation.getIri(), instance.getIri());
-	    	builder.finish();
-	    	return instance;
-    	}
-    	return null;
+    	return ServiceMetrics.time("createConceptInstance(Description, String, Instance, String)", () -> {
+	    	var type = resolveMember(context, typeAbbreviatedIri);
+	    	var relation = resolveMember(context, relationAbbreviatedIri);
+	    	if (type instanceof Entity && relation instanceof Relation) {
+		    	var builder = new OmlBuilder(context.eResource().getResourceSet());
+		    	var instance = builder.addConceptInstance(context, getNewMemberName(context, ((Entity)type).getName()));
+		    	builder.addTypeAssertion(context, instance.getIri(), type.getIri());
+		    	var owner = (source instanceof NamedInstance) ? ((NamedInstance)source).getIri() : source;
+		    	builder.addPropertyValueAssertion(context, owner, relation.getIri(), instance.getIri());
+		    	builder.finish();
+		    	return instance;
+	    	}
+	    	return null;
+    	});
     }
 
     public static RelationInstance createRelationInstance(Description context, NamedInstance source, NamedInstance target, String typeAbbreviatedIri) {
-    	var type = OmlRead.getMemberByAbbreviatedIri(context, typeAbbreviatedIri);
-    	if (type instanceof Entity) {
-	    	var builder = new OmlBuilder(context.eResource().getResourceSet());
-	    	var instance = builder.addRelationInstance(
-	    			context, 
-	    			getNewMemberName(context, ((Entity)type).getName()),
-	    			Collections.singletonList(source.getIri()),
-	    			Collections.singletonList(target.getIri()));
-	    	builder.addTypeAssertion(context, instance.getIri(), type.getIri());
-	    	builder.finish();
-	    	return instance;
-    	}
-    	return null;
+    	return ServiceMetrics.time("createRelationInstance(Description, NamedInstance, NamedInstance, String)", () -> {
+	    	var type = resolveMember(context, typeAbbreviatedIri);
+	    	if (type instanceof Entity) {
+		    	var builder = new OmlBuilder(context.eResource().getResourceSet());
+		    	var instance = builder.addRelationInstance(
+		    			context, 
+		    			getNewMemberName(context, ((Entity)type).getName()),
+		    			Collections.singletonList(source.getIri()),
+		    			Collections.singletonList(target.getIri()));
+		    	builder.addTypeAssertion(context, instance.getIri(), type.getIri());
+		    	builder.finish();
+		    	return instance;
+	    	}
+	    	return null;
+    	});
     }
 
     public static PropertyValueAssertion createPropertyValueAssertion(Ontology context, Instance instance, Element value, String propertyAbbreviatedIri) {
-    	var property = OmlRead.getMemberByAbbreviatedIri(context, propertyAbbreviatedIri);
-    	if (property instanceof SemanticProperty) {
-	    	var builder = new OmlBuilder(context.eResource().getResourceSet());
-	    	var owner = (instance instanceof NamedInstance) ? ((NamedInstance)instance).getIri() : instance;
-	    	PropertyValueAssertion assertion = null;
-	    	if (value instanceof Literal) {
-	    		assertion = builder.addPropertyValueAssertion(context, owner, property.getIri(), (Literal)value);
-	    	} else if (value instanceof AnonymousInstance) {
-	    		assertion = builder.addPropertyValueAssertion(context, owner, property.getIri(), (AnonymousInstance)value);
-	    	} else if (value instanceof NamedInstance) {
-	    		assertion = builder.addPropertyValueAssertion(context, owner, property.getIri(), ((NamedInstance)value).getIri());
+    	return ServiceMetrics.time("createPropertyValueAssertion(Ontology, Instance, Element, String)", () -> {
+	    	var property = resolveMember(context, propertyAbbreviatedIri);
+	    	if (property instanceof SemanticProperty) {
+		    	var builder = new OmlBuilder(context.eResource().getResourceSet());
+		    	var owner = (instance instanceof NamedInstance) ? ((NamedInstance)instance).getIri() : instance;
+		    	PropertyValueAssertion assertion = null;
+		    	if (value instanceof Literal) {
+		    		assertion = builder.addPropertyValueAssertion(context, owner, property.getIri(), (Literal)value);
+		    	} else if (value instanceof AnonymousInstance) {
+		    		assertion = builder.addPropertyValueAssertion(context, owner, property.getIri(), (AnonymousInstance)value);
+		    	} else if (value instanceof NamedInstance) {
+		    		assertion = builder.addPropertyValueAssertion(context, owner, property.getIri(), ((NamedInstance)value).getIri());
+		    	}
+		    	builder.finish();
+		    	return assertion;
 	    	}
-	    	builder.finish();
-	    	return assertion;
+	    	return null;
+    	});
+    }
+
+    //------------------
+
+    /**
+     * A specification of a concept instance to create
+     * 
+     * @param typeAbbreviatedIri The abbreviated iri of the type of the instance
+     * @param source The source instance to relate to the new instance (can be null)
+     * @param relationAbbreviatedIri The abbreviated iri of the relation from the source instance to the new instance (can be null)
+     */
+    public record ConceptInstanceSpec(String typeAbbreviatedIri, Instance source, String relationAbbreviatedIri) {
+    	/**
+    	 * Creates a specification of an unrelated concept instance
+    	 * 
+    	 * @param typeAbbreviatedIri The abbreviated iri of the type of the instance
+    	 */
+    	public ConceptInstanceSpec(String typeAbbreviatedIri) {
+    		this(typeAbbreviatedIri, null, null);
     	}
-    	return null;
     }
 
+    /**
+     * A specification of a relation instance to create
+     * 
+     * @param source The source instance of the relation instance
+     * @param target The target instance of the relation instance
+     * @param typeAbbreviatedIri The abbreviated iri of the type of the relation instance
+     */
+    public record RelationInstanceSpec(NamedInstance source, NamedInstance target, String typeAbbreviatedIri) {
+    }
+
+    /**
+     * A specification of a property value assertion to create
+     * 
+     * @param instance The instance that owns the assertion
+     * @param propertyAbbreviatedIri The abbreviated iri of the asserted property
+     * @param value The asserted value (a literal, an anonymous instance or a named instance)
+     */
+    public record PropertyValueSpec(Instance instance, String propertyAbbreviatedIri, Element value) {
+    }
+
+    /**
+     * An edit of the value of a scalar property of an instance
+     * 
+     * @param instance The edited instance
+     * @param property The edited scalar property
+     * @param value The new value (null or empty to remove the value)
+     */
+    public record PropertyValueEdit(Instance instance, ScalarProperty property, Object value) {
+    }
+
+    /**
+     * Creates concept instances in a given description from the given specifications
+     * 
+     * @param context The given description
+     * @param specs The specifications of the concept instances
+     * @return The list of created instances in the order of the specifications (with null for a specification
+     * whose type or relation could not be resolved)
+     */
+    public static List<ConceptInstance> createConceptInstances(Description context, List<ConceptInstanceSpec> specs) {
+    	return ServiceMetrics.time("createConceptInstances(Description, List)", () -> {
+	    	return OmlTransactions.call(context, "Create Concept Instances", () -> {
+	    		var resourceSet = context.eResource().getResourceSet();
+		    	var builder = new OmlBuilder(resourceSet);
+		    	var types = new HashMap<String, Member>();
+		    	var relations = new HashMap<String, Member>();
+		    	var instances = new ArrayList<ConceptInstance>(specs.size());
+		    	for (ConceptInstanceSpec spec : specs) {
+		    		var type = types.computeIfAbsent(spec.typeAbbreviatedIri(), iri -> resolveMember(resourceSet, iri));
+		    		var relation = (spec.relationAbbreviatedIri() != null) ? relations.computeIfAbsent(spec.relationAbbreviatedIri(), iri -> resolveMember(context, iri)) : null;
+		    		if (type instanceof Entity && (spec.source() == null || relation instanceof Relation)) {
+		    	    	var instance = builder.addConceptInstance(context, getNewMemberName(context, ((Entity)type).getName()));
+		    	    	builder.addTypeAssertion(context, instance.getIri(), type.getIri());
+		    	    	if (spec.source() != null) {
+			    	    	var owner = (spec.source() instanceof NamedInstance) ? ((NamedInstance)spec.source()).getIri() : spec.source();
+			    	    	builder.addPropertyValueAssertion(context, owner, relation.getIri(), instance.getIri());
+		    	    	}
+		    	    	instances.add(instance);
+		    		} else {
+		    			instances.add(null);
+		    		}
+		    	}
+		    	builder.finish();
+		    	return instances;
+	    	});
+    	});
+    }
+
+    /**
+     * Creates relation instances in a given description from the given specifications
+     * 
+     * @param context The given description
+     * @param specs The specifications of the relation instances
+     * @return The list of created instances in the order of the specifications (with null for a specification
+     * whose type could not be resolved)
+     */
+    public static List<RelationInstance> createRelationInstances(Description context, List<RelationInstanceSpec> specs) {
+    	return ServiceMetrics.time("createRelationInstances(Description, List)", () -> {
+	    	return OmlTransactions.call(context, "Create Relation Instances", () -> {
+		    	var builder = new OmlBuilder(context.eResource().getResourceSet());
+		    	var types = new HashMap<String, Member>();
+		    	var instances = new ArrayList<RelationInstance>(specs.size());
+		    	for (RelationInstanceSpec spec : specs) {
+		    		var type = types.computeIfAbsent(spec.typeAbbreviatedIri(), iri -> resolveMember(context, iri));
+		    		if (type instanceof Entity) {
+		    	    	var instance = builder.addRelationInstance(
+		    	    			context, 
+		    	    			getNewMemberName(context, ((Entity)type).getName()),
+		    	    			Collections.singletonList(spec.source().getIri()),
+		    	    			Collections.singletonList(spec.target().getIri()));
+		    	    	builder.addTypeAssertion(context, instance.getIri(), type.getIri());
+		    	    	instances.add(instance);
+		    		} else {
+		    			instances.add(null);
+		    		}
+		    	}
+		    	builder.finish();
+		    	return instances;
+	    	});
+    	});
+    }
+
+    /**
+     * Creates property value assertions in a given ontology from the given specifications
+     * 
+     * @param context The given ontology
+     * @param specs The specifications of the property value assertions
+     * @return The list of created assertions in the order of the specifications (with null for a specification
+     * whose property could not be resolved or whose value is not supported)
+     */
+    public static List<PropertyValueAssertion> createPropertyValueAssertions(Ontology context, List<PropertyValueSpec> specs) {
+    	return ServiceMetrics.time("createPropertyValueAssertions(Ontology, List)", () -> {
+	    	return OmlTransactions.call(context, "Create Property Values", () -> {
+		    	var builder = new OmlBuilder(context.eResource().getResourceSet());
+		    	var properties = new HashMap<String, Member>();
+		    	var assertions = new ArrayList<PropertyValueAssertion>(specs.size());
+		    	for (PropertyValueSpec spec : specs) {
+		    		var property = properties.computeIfAbsent(spec.propertyAbbreviatedIri(), iri -> resolveMember(context, iri));
+		    		PropertyValueAssertion assertion = null;
+		    		if (property instanceof SemanticProperty) {
+		    	    	var owner = (spec.instance() instanceof NamedInstance) ? ((NamedInstance)spec.instance()).getIri() : spec.instance();
+		    	    	var value = spec.value();
+		    	    	if (value instanceof Literal) {
+		    	    		assertion = builder.addPropertyValueAssertion(context, owner, property.getIri(), (Literal)value);
+		    	    	} else if (value instanceof AnonymousInstance) {
+		    	    		assertion = builder.addPropertyValueAssertion(context, owner, property.getIri(), (AnonymousInstance)value);
+		    	    	} else if (value instanceof NamedInstance) {
+		    	    		assertion = builder.addPropertyValueAssertion(context, owner, property.getIri(), ((NamedInstance)value).getIri());
+		    	    	}
+		    		}
+		    		assertions.add(assertion);
+		    	}
+		    	builder.finish();
+		    	return assertions;
+	    	});
+    	});
+    }
+
+    //------------------
+
     public static void addPropertyValue(Ontology context, Instance subject, String relationAbbreviatedIri, NamedInstance object) {
-    	var relation = OmlRead.getMemberByAbbreviatedIri(context, relationAbbreviatedIri);
-    	if (relation instanceof Relation) {
-	    	var builder = new OmlBuilder(context.eResource().getResourceSet());
-	    	var owner = (subject instanceof NamedInstance) ? ((NamedInstance)subject).getIri() : subject;
-	    	builder.addPropertyValueAssertion(
-	    			context, 
-	    			owner,
-	    			relation.getIri(),
-	    			object.getIri());
-	    	builder.finish();
-    	}
+    	ServiceMetrics.run("addPropertyValue(Ontology, Instance, String, NamedInstance)", () -> {
+	    	var relation = resolveMember(context, relationAbbreviatedIri);
+	    	if (relation instanceof Relation) {
+		    	var builder = new OmlBuilder(context.eResource().getResourceSet());
+		    	var owner = (subject instanceof NamedInstance) ? ((NamedInstance)subject).getIri() : subject;
+		    	builder.addPropertyValueAssertion(
+		    			context, 
+		    			owner,
+		    			relation.getIri(),
+		    			object.getIri());
+		    	builder.finish();
+	    	}
+    	});
     }
 
     public static void addPropertyValue(Ontology context, Instance subject, String propertyAbbreviatedIri, AnonymousInstance object) {
-    	var property = OmlRead.getMemberByAbbreviatedIri(context, propertyAbbreviatedIri);
-    	if (property instanceof AnonymousInstance) {
-	    	var builder = new OmlBuilder(context.eResource().getResourceSet());
-	    	var owner = (subject instanceof NamedInstance) ? ((NamedInstance)subject).getIri() : subject;
-	    	builder.addPropertyValueAssertion(
-	    			context, 
-	    			owner,
-	    			property.getIri(),
-	    			object);
-	    	builder.finish();
-    	}
+    	ServiceMetrics.run("addPropertyValue(Ontology, Instance, String, AnonymousInstance)", () -> {
+	    	var property = resolveMember(context, propertyAbbreviatedIri);
+	    	if (property instanceof AnonymousInstance) {
+		    	var builder = new OmlBuilder(context.eResource().getResourceSet());
+		    	var owner = (subject instanceof NamedInstance) ? ((NamedInstance)subject).getIri() : subject;
+		    	builder.addPropertyValueAssertion(
+		    			context, 
+		    			owner,
+		    			property.getIri(),
+		    			object);
+		    	builder.finish();
+	    	}
+    	});
     }
 
     public static void addPropertyValue(Ontology context, Instance subject, String propertyAbbreviatedIri, Literal object) {
-    	var property = OmlRead.getMemberByAbbreviatedIri(context, propertyAbbreviatedIri);
-    	if (property instanceof ScalarProperty) {
-	    	var builder = new OmlBuilder(context.eResource().getResourceSet());
-	    	var owner = (subject instanceof NamedInstance) ? ((NamedInstance)subject).getIri() : subject;
-	    	builder.addPropertyValueAssertion(
-	    			context, 
-	    			owner,
-	    			property.getIri(),
-	    			object);
-	    	builder.finish();
-    	}
+    	ServiceMetrics.run("addPropertyValue(Ontology, Instance, String, Literal)", () -> {
+	    	var property = resolveMember(context, propertyAbbreviatedIri);
+	    	if (property instanceof ScalarProperty) {
+		    	var builder = new OmlBuilder(context.eResource().getResourceSet());
+		    	var owner = (subject instanceof NamedInstance) ? ((NamedInstance)subject).getIri() : subject;
+		    	builder.addPropertyValueAssertion(
+		    			context, 
+		    			owner,
+		    			property.getIri(),
+		    			object);
+		    	builder.finish();
+	    	}
+    	});
     }
 
     public static void removePropertyValue(Ontology context, Instance subject, String propertyAbbreviatedIri) {
-    	var property = OmlRead.getMemberByAbbreviatedIri(context, propertyAbbreviatedIri);
-    	if (property instanceof SemanticProperty) {
-	        subject.getOwnedPropertyValues().stream()
-                .filter(a -> a.getProperty() == property)
-                .forEach(a -> OmlDelete.delete(a));
-    	}
+    	ServiceMetrics.run("removePropertyValue(Ontology, Instance, String)", () -> {
+	    	var property = resolveMember(context, propertyAbbreviatedIri);
+	    	if (property instanceof SemanticProperty) {
+		        var assertions = subject.getOwnedPropertyValues().stream()
+	                .filter(a -> a.getProperty() == property)
+	                .collect(Collectors.toList());
+		        if (!assertions.isEmpty()) {
+		        	BulkDelete.delete(assertions, false);
+		        }
+	    	}
+    	});
     }
     
+    /**
+     * Deletes the given element along with its contents and (recursively) the elements that depend on it
+     * 
+     * @param element The given element
+     */
+    public static void deleteRecursively(EObject element) {
+    	ServiceMetrics.run("deleteRecursively(EObject)", () -> {
+	    	BulkDelete.delete(Collections.singletonList(element), true);
+    	});
+    }
+
+    /**
+     * Deletes the given elements along with their contents and (recursively) the elements that depend on them
+     * 
+     * @param elements The given elements
+     */
+    public static void deleteRecursively(Collection<? extends EObject> elements) {
+    	ServiceMetrics.run("deleteRecursively(Collection)", () -> {
+	    	BulkDelete.delete(elements, true);
+    	});
+    }
+
 	public static void setPropertyValue(Instance instance, ScalarProperty property, Object newValue) {
-		removePropertyValue(instance.getOntology(), instance, property.getAbbreviatedIri());
-		if (newValue != null && newValue.toString().length() > 0) {
-			var newLiteral = OmlWrite.createLiteral(newValue);
-			addPropertyValue(instance.getOntology(), instance, property.getAbbreviatedIri(), newLiteral);
-		}
+		ServiceMetrics.run("setPropertyValue(Instance, ScalarProperty, Object)", () -> {
+			setPropertyValues(Collections.singletonList(new PropertyValueEdit(instance, property, newValue)));
+		});
 	}
+
+    /**
+     * Sets the values of scalar properties of instances from the given edits
+     * 
+     * @param edits The given edits
+     * @return The number of instance properties that were changed
+     */
+    public static int setPropertyValues(List<PropertyValueEdit> edits) {
+    	return ServiceMetrics.time("setPropertyValues(List)", () -> {
+	    	if (edits.isEmpty()) {
+	    		return 0;
+	    	}
+	    	var lastEdits = new LinkedHashMap<List<EObject>, PropertyValueEdit>();
+	    	edits.forEach(e -> lastEdits.put(List.of(e.instance(), e.property()), e));
+	    	return OmlTransactions.call(edits.get(0).instance(), "Set Property Values", () -> {
+	    		var removals = new ArrayList<PropertyValueAssertion>();
+	    		var additions = new ArrayList<PropertyValueEdit>();
+	    		var changes = 0;
+	    		for (PropertyValueEdit edit : lastEdits.values()) {
+	    			var assertions = edit.instance().getOwnedPropertyValues().stream()
+	    				.filter(a -> a.getProperty() == edit.property())
+	    				.collect(Collectors.toList());
+	    			var hasValue = edit.value() != null && edit.value().toString().length() > 0;
+	    			if (!hasValue) {
+	    				removals.addAll(assertions);
+	    			} else {
+	    				var newLiteral = OmlWrite.createLiteral(edit.value());
+	    				var oldLiteral = (assertions.size() == 1 && assertions.get(0).getValues().size() == 1 && assertions.get(0).getLiteralValues().size() == 1) ?
+	    					assertions.get(0).getLiteralValues().get(0) : null;
+	    				if (oldLiteral != null && oldLiteral.eClass() == newLiteral.eClass() && Objects.equals(oldLiteral.getLexicalValue(), newLiteral.getLexicalValue())) {
+	    					continue;
+	    				} else if (oldLiteral != null) {
+	    					assertions.get(0).getLiteralValues().set(0, newLiteral);
+	    				} else {
+	    					removals.addAll(assertions);
+	    					additions.add(new PropertyValueEdit(edit.instance(), edit.property(), newLiteral));
+	    				}
+	    			}
+	    			if (hasValue || !assertions.isEmpty()) {
+	    				changes++;
+	    			}
+	    		}
+	    		if (!removals.isEmpty()) {
+	    			BulkDelete.delete(removals, false);
+	    		}
+	    		if (!additions.isEmpty()) {
+	    			var builder = new OmlBuilder(additions.get(0).instance().eResource().getResourceSet());
+	    			for (PropertyValueEdit addition : additions) {
+	    				var owner = (addition.instance() instanceof NamedInstance) ? ((NamedInstance)addition.instance()).getIri() : addition.instance();
+	    				builder.addPropertyValueAssertion(addition.instance().getOntology(), owner, addition.property().getIri(), (Literal) addition.value());
+	    			}
+	    			builder.finish();
+	    		}
+	    		return changes;
+	    	});
+    	});
+    }
     
     // ---------
     
     public static List<NamedInstance> getOwnedNamedInstances(Description description) {
-    	return description.getOwnedStatements().stream()
-    			.filter(i -> i instanceof NamedInstance)
-    			.map(i -> (NamedInstance)i)
-    			.collect(Collectors.toList());
+    	return ServiceMetrics.time("getOwnedNamedInstances(Description)", () -> {
+	    	return description.getOwnedStatements().stream()
+	    			.filter(i -> i instanceof NamedInstance)
+	    			.map(i -> (NamedInstance)i)
+	    			.collect(Collectors.toList());
+    	});
     }
     
     public static Set<NamedInstance> getNamedInstancesInContext(Description context, boolean includeImports) {
-    	var instances = new LinkedHashSet<NamedInstance>();
-    	
-    	var visitor = new OmlSwitch<Void>() {
-			@Override
-			public Void caseConceptInstance(ConceptInstance object) {
-				instances.add((ConceptInstance)object.resolve());
-				return null;
-			}
-			@Override
-			public Void caseRelationInstance(RelationInstance object) {
-				instances.add((RelationInstance)object.resolve());
-				instances.addAll(object.getSources());
-				instances.addAll(object.getTargets());
-				return null;
-			}
-			@Override
-			public Void casePropertyValueAssertion(PropertyValueAssertion object) {
-				if (object.getProperty() instanceof Relation) {
-					instances.add((NamedInstance)object.getObject());
-				}
-				return null;
-			}
-    	};
-
-		var allDescriptions = new HashSet<Ontology>();
-		allDescriptions.add(context);
-		if (includeImports) {
-    		allDescriptions.addAll(
-    			OmlRead.getImportedOntologyClosure(context, false).stream()
-    				.filter(o -> o instanceof Description)
-    				.collect(Collectors.toSet()));
-    	}
-    	allDescriptions.forEach(d -> d.eAllContents().forEachRemaining(i -> visitor.doSwitch(i)));
+    	return ServiceMetrics.time("getNamedInstancesInContext(Description, boolean)", () -> {
+			var allDescriptions = new LinkedHashSet<Description>();
+			allDescriptions.add(context);
+			if (includeImports) {
+	    		OmlRead.getImportedOntologyClosure(context, false).stream()
+	    			.filter(o -> o instanceof Description)
+	    			.forEach(o -> allDescriptions.add((Description) o));
+	    	}
 
-    	return instances;
-	}
+			var cache = DescriptionInstanceCache.get(context);
+			if (cache != null) {
+				return cache.getNamedInstances(allDescriptions);
+			}
+	    	var instances = new LinkedHashSet<NamedInstance>();
+	    	allDescriptions.forEach(d -> instances.addAll(DescriptionInstanceCache.collectNamedInstances(d)));
+	    	return instances;
+    	});
+    }
 	
 	/**
 	 * Gets a list of ontologies loaded in the resource set of the given context object
@@ -518,7 +1168,7 @@ public class OmlServices {
 	 * @return A list of ontologies
 	 */
     public static List<Ontology> getLoadedOntologies(EObject context) {
-		return OmlRead.getOntologies(context.eResource().getResourceSet());
+		return ServiceMetrics.time("getLoadedOntologies(EObject)", () -> OmlRead.getOntologies(context.eResource().getResourceSet()));
     }
 
 	/**
@@ -549,16 +1199,22 @@ public class OmlServices {
      * @return A valid new name for a member derived from the given base name
      */
     public static String getNewMemberName(Ontology context, String base) {
-    	base = base.substring(0, 1).toLowerCase()+base.substring(1);
-    	var names = OmlRead.getMembers(context).stream()
-    			.map(s -> ((Member)s).getName())
-    			.collect(Collectors.toSet());
-    	String name = base;
-    	int i = 0;
-    	while (names.contains(name)) {
-    		name = base + ++i;
-    	}
-    	return name;	
+    	var lowerBase = base.substring(0, 1).toLowerCase()+base.substring(1);
+    	return ServiceMetrics.time("getNewMemberName(Ontology, String)", () -> {
+	    	var registry = NameRegistry.get(context);
+	    	if (registry != null) {
+	    		return registry.getFreeName(context, lowerBase);
+	    	}
+	    	var names = OmlRead.getMembers(context).stream()
+	    			.map(s -> ((Member)s).getName())
+	    			.collect(Collectors.toSet());
+	    	String name = lowerBase;
+	    	int i = 0;
+	    	while (names.contains(name)) {
+	    		name = lowerBase + ++i;
+	    	}
+	    	return name;	
+    	});
     }
         
     //--------------
@@ -571,18 +1227,20 @@ public class OmlServices {
      * @return The member with the given abbreviated iri
      */
     public static Member makeMemberAccessibleByAbbreviatedIri(Ontology context, String abbreviatedIri) {
-    	abbreviatedIri = abbreviatedIri.trim();
-    	Member member = OmlRead.getMemberByAbbreviatedIri(context, abbreviatedIri);
-    	if (member == null) {
-    		member = OmlRead.getMemberByAbbreviatedIri(context.eResource().getResourceSet(), abbreviatedIri);
-    		if (member != null) {
-    			OmlWrite.addImport(context, member.getOntology());
-    		}
-    	}
-		if (member == null) {
-			Activator.getDefault().getLog().error("Could not resolve "+abbreviatedIri+" in the context of "+context.getIri());
-		}
-    	return member;
+    	var trimmedIri = abbreviatedIri.trim();
+    	return ServiceMetrics.time("makeMemberAccessibleByAbbreviatedIri(Ontology, String)", () -> {
+	    	Member member = resolveMember(context, trimmedIri);
+	    	if (member == null) {
+	    		member = resolveMember(context.eResource().getResourceSet(), trimmedIri);
+	    		if (member != null) {
+	    			OmlWrite.addImport(context, member.getOntology());
+	    		}
+	    	}
+			if (member == null) {
+				Activator.getDefault().getLog().error("Could not resolve "+trimmedIri+" in the context of "+context.getIri());
+			}
+	    	return member;
+    	});
     }
 
     /**
@@ -593,20 +1251,42 @@ public class OmlServices {
      * @return The member with the given abbreviated iri
      */
     public static Member makeMemberAccessibleByIri(Ontology context, String iri) {
-    	Member member = OmlRead.getMemberByIri(context, iri);
-    	if (member == null) {
-    		member = OmlRead.getMemberByIri(context.eResource().getResourceSet(), iri);
-    		if (member == null) {
-        		member = OmlRead.getMemberByResolvingIri(context.eResource(), iri);
-    		}
-    		if (member != null) {
-    			OmlWrite.addImport(context, member.getOntology());
-    		}
-		} 
-    	if (member == null) {
-			Activator.getDefault().getLog().error("Could not resolve "+iri+" in the context of "+context.getIri());
-		}
-    	return member;
+    	return ServiceMetrics.time("makeMemberAccessibleByIri(Ontology, String)", () -> {
+	    	Member member = OmlRead.getMemberByIri(context, iri);
+	    	if (member == null) {
+	    		member = OmlRead.getMemberByIri(context.eResource().getResourceSet(), iri);
+	    		if (member == null) {
+	    			// the catalog knows the file that should declare the member (if indexed)
+	    			var location = IriCatalogIndex.getInstance().find(iri);
+	    			if (location != null) {
+	    				member = loadMemberByIri(context.eResource().getResourceSet(), location.getFile(), iri);
+	    			}
+	    		}
+	    		if (member == null) {
+	    			// the index only scans the rewrite rules of the catalogs, so a miss is not conclusive
+	    			member = OmlRead.getMemberByResolvingIri(context.eResource(), iri);
+	    		}
+	    		if (member != null) {
+	    			OmlWrite.addImport(context, member.getOntology());
+	    		}
+			} 
+	    	if (member == null) {
+				Activator.getDefault().getLog().error("Could not resolve "+iri+" in the context of "+context.getIri());
+			}
+	    	return member;
+    	});
+    }
+
+    private static Member loadMemberByIri(ResourceSet resourceSet, IFile file, String iri) {
+    	try {
+	    	var resource = resourceSet.getResource(URI.createPlatformResourceURI(file.getFullPath().toString(), true), true);
+	    	if (resource != null && !resource.getContents().isEmpty() && resource.getContents().get(0) instanceof Ontology) {
+	    		return OmlRead.getMemberByIri((Ontology) resource.getContents().get(0), iri);
+	    	}
+    	} catch (RuntimeException e) {
+			Activator.getDefault().getLog().error("Could not load "+file.getFullPath(), e);
+    	}
+    	return null;
     }
 
     /**
@@ -616,9 +1296,11 @@ public class OmlServices {
      * @param member the given member
      */
     public static void makeMemberAccessible(Ontology context, Member member) {
-    	if (OmlRead.getMemberByIri(context, member.getIri()) == null) {
-			OmlWrite.addImport(context, member.getOntology());
-    	}
+    	ServiceMetrics.run("makeMemberAccessible(Ontology, Member)", () -> {
+	    	if (OmlRead.getMemberByIri(context, member.getIri()) == null) {
+				OmlWrite.addImport(context, member.getOntology());
+	    	}
+    	});
     }
 
 }
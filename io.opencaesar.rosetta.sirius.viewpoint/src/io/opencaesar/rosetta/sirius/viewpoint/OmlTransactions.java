@@ -0,0 +1,90 @@
+/**
+ * 
+ * Copyright 2019-2021 California Institute of Technology ("Caltech").
+ * U.S. Government sponsorship acknowledged.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package io.opencaesar.rosetta.sirius.viewpoint;
+
+import java.util.function.Supplier;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.transaction.RecordingCommand;
+import org.eclipse.emf.transaction.TransactionalEditingDomain;
+import org.eclipse.emf.transaction.impl.InternalTransactionalEditingDomain;
+import org.eclipse.emf.transaction.util.TransactionUtil;
+
+/**
+ * Utilities to group changes to OML models in a single transaction
+ */
+public final class OmlTransactions {
+
+	private OmlTransactions() {
+	}
+
+	/**
+	 * Runs the given changes in a single transaction on the editing domain of the given context object
+	 * 
+	 * @param context The given context object
+	 * @param label The label of the transaction (shown in undo/redo menus)
+	 * @param changes The given changes
+	 */
+	public static void run(EObject context, String label, Runnable changes) {
+		call(context, label, () -> {
+			changes.run();
+			return null;
+		});
+	}
+
+	/**
+	 * Runs the given changes in a single transaction on the editing domain of the given context object
+	 * 
+	 * @param <T> The type of the result
+	 * @param context The given context object
+	 * @param label The label of the transaction (shown in undo/redo menus)
+	 * @param changes The given changes
+	 * @return The result of the changes
+	 */
+	public static <T> T call(EObject context, String label, Supplier<T> changes) {
+		var domain = TransactionUtil.getEditingDomain(context);
+		if (domain == null || isInTransaction(domain)) {
+			return changes.get();
+		}
+		var command = new RecordingCommand(domain, label) {
+			private T result;
+			@Override
+			protected void doExecute() {
+				result = changes.get();
+			}
+		};
+		domain.getCommandStack().execute(command);
+		return command.result;
+	}
+
+	/**
+	 * Checks whether a (read-write) transaction is active on the given editing domain in the current thread
+	 * 
+	 * @param domain The given editing domain
+	 * @return true if changes can be made directly; otherwise false
+	 */
+	public static boolean isInTransaction(TransactionalEditingDomain domain) {
+		if (domain instanceof InternalTransactionalEditingDomain) {
+			var transaction = ((InternalTransactionalEditingDomain) domain).getActiveTransaction();
+			return transaction != null && !transaction.isReadOnly() && transaction.getOwner() == Thread.currentThread();
+		}
+		return false;
+	}
+
+}
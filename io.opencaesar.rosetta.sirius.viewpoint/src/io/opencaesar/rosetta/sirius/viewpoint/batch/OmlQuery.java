@@ -0,0 +1,254 @@
+/**
+ * 
+ * Copyright 2019-2021 California Institute of Technology ("Caltech").
+ * U.S. Government sponsorship acknowledged.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package io.opencaesar.rosetta.sirius.viewpoint.batch;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eclipse.emf.ecore.resource.ResourceSet;
+
+import io.opencaesar.oml.Ontology;
+import io.opencaesar.oml.util.OmlRead;
+import io.opencaesar.rosetta.sirius.viewpoint.internal.OmlServices;
+
+/**
+ * A query that calls one of the services of the OML viewpoint by reflection
+ */
+final class OmlQuery {
+
+	private static final Pattern QUERY = Pattern.compile("^(?:([\\w.-]+)\\s*=\\s*)?(\\w+)\\s*\\((.*)\\)\\s*$");
+
+	private final String name;
+
+	private final String service;
+
+	private final List<String> arguments;
+
+	private OmlQuery(String name, String service, List<String> arguments) {
+		this.name = name;
+		this.service = service;
+		this.arguments = arguments;
+	}
+
+	/**
+	 * @return The name of the query
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return The name of the called service
+	 */
+	public String getService() {
+		return service;
+	}
+
+	/**
+	 * @return The arguments of the query as written
+	 */
+	public List<String> getArguments() {
+		return arguments;
+	}
+
+	/**
+	 * Reads the queries of the given file
+	 * 
+	 * @param file The given query file
+	 * @return A list of queries
+	 * @throws IOException If the file cannot be read or a query cannot be parsed
+	 */
+	public static List<OmlQuery> read(Path file) throws IOException {
+		var queries = new ArrayList<OmlQuery>();
+		var lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+		for (int i = 0; i < lines.size(); i++) {
+			var line = lines.get(i).trim();
+			if (line.isEmpty() || line.startsWith("#")) {
+				continue;
+			}
+			var matcher = QUERY.matcher(line);
+			if (!matcher.matches()) {
+				throw new IOException(file + ":" + (i + 1) + ": invalid query '" + line + "'");
+			}
+			var name = (matcher.group(1) != null) ? matcher.group(1) : "q" + (queries.size() + 1);
+			queries.add(new OmlQuery(name, matcher.group(2), splitArguments(matcher.group(3), file + ":" + (i + 1))));
+		}
+		return queries;
+	}
+
+	/**
+	 * Evaluates this query on the given resource set
+	 * 
+	 * @param resourceSet The given resource set
+	 * @return The result of the query
+	 * @throws Exception If an argument cannot be resolved, no matching service is found, or the service fails
+	 */
+	public Object evaluate(ResourceSet resourceSet) throws Exception {
+		var values = new Object[arguments.size()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = resolveArgument(resourceSet, arguments.get(i));
+		}
+		var method = findMethod(values);
+		try {
+			return materialize(method.invoke(null, values));
+		} catch (InvocationTargetException e) {
+			throw (e.getCause() instanceof Exception) ? (Exception) e.getCause() : e;
+		}
+	}
+
+	private Method findMethod(Object[] values) throws NoSuchMethodException {
+		Method found = null;
+		for (Method method : OmlServices.class.getMethods()) {
+			if (Modifier.isStatic(method.getModifiers()) && method.getName().equals(service) && isApplicable(method.getParameterTypes(), values)) {
+				if (found == null || isMoreSpecific(method.getParameterTypes(), found.getParameterTypes())) {
+					found = method;
+				}
+			}
+		}
+		if (found != null) {
+			return found;
+		}
+		var types = Arrays.stream(values).map(v -> (v != null) ? v.getClass().getSimpleName() : "null").collect(Collectors.joining(", "));
+		throw new NoSuchMethodException("No service " + service + "(" + types + ")");
+	}
+
+	private static boolean isApplicable(Class<?>[] types, Object[] values) {
+		if (types.length != values.length) {
+			return false;
+		}
+		for (int i = 0; i < types.length; i++) {
+			var type = types[i];
+			var value = values[i];
+			if (type == boolean.class) {
+				type = Boolean.class;
+			} else if (type == int.class) {
+				type = Integer.class;
+			}
+			if ((value == null && types[i].isPrimitive()) || (value != null && !type.isInstance(value))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isMoreSpecific(Class<?>[] types, Class<?>[] otherTypes) {
+		for (int i = 0; i < types.length; i++) {
+			if (!otherTypes[i].isAssignableFrom(types[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static Object resolveArgument(ResourceSet resourceSet, String argument) {
+		if (argument.equals("null")) {
+			return null;
+		} else if (argument.equals("true") || argument.equals("false")) {
+			return Boolean.valueOf(argument);
+		} else if (argument.startsWith("\"")) {
+			return argument.substring(1, argument.length() - 1).replace("\\\"", "\"").replace("\\\\", "\\");
+		} else if (argument.startsWith("<")) {
+			var iri = argument.substring(1, argument.length() - 1);
+			var element = resolveElement(resourceSet, iri);
+			if (element == null) {
+				throw new IllegalArgumentException("Cannot resolve <" + iri + ">");
+			}
+			return element;
+		}
+		try {
+			return Integer.valueOf(argument);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Invalid argument " + argument);
+		}
+	}
+
+	private static Object resolveElement(ResourceSet resourceSet, String iri) {
+		for (Ontology ontology : OmlRead.getOntologies(resourceSet)) {
+			var namespace = ontology.getNamespace();
+			if (namespace != null && !namespace.isEmpty() && (namespace.equals(iri) || namespace.substring(0, namespace.length() - 1).equals(iri))) {
+				return ontology;
+			}
+		}
+		var member = OmlRead.getMemberByIri(resourceSet, iri);
+		return (member != null) ? member : OmlRead.getMemberByAbbreviatedIri(resourceSet, iri);
+	}
+
+	private static Object materialize(Object result) {
+		if (result instanceof Stream<?>) {
+			return ((Stream<?>) result).collect(Collectors.toList());
+		} else if (result instanceof Iterator<?>) {
+			var list = new ArrayList<Object>();
+			((Iterator<?>) result).forEachRemaining(list::add);
+			return list;
+		} else if (result instanceof Collection<?>) {
+			return new ArrayList<Object>((Collection<?>) result);
+		}
+		return result;
+	}
+
+	private static List<String> splitArguments(String text, String location) throws IOException {
+		var arguments = new ArrayList<String>();
+		var argument = new StringBuilder();
+		char quote = 0;
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (quote != 0) {
+				argument.append(c);
+				if (c == '\\' && quote == '"' && i + 1 < text.length()) {
+					argument.append(text.charAt(++i));
+				} else if (c == quote) {
+					quote = 0;
+				}
+			} else if (c == '"') {
+				argument.append(c);
+				quote = '"';
+			} else if (c == '<') {
+				argument.append(c);
+				quote = '>';
+			} else if (c == ',') {
+				arguments.add(argument.toString().trim());
+				argument.setLength(0);
+			} else {
+				argument.append(c);
+			}
+		}
+		if (quote != 0) {
+			throw new IOException(location + ": unterminated argument '" + argument + "'");
+		}
+		var last = argument.toString().trim();
+		if (!last.isEmpty() || !arguments.isEmpty()) {
+			arguments.add(last);
+		}
+		return arguments;
+	}
+
+}
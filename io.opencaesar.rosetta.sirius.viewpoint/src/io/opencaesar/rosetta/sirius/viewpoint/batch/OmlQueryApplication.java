@@ -0,0 +1,255 @@
+/**
+ * 
+ * Copyright 2019-2021 California Institute of Technology ("Caltech").
+ * U.S. Government sponsorship acknowledged.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package io.opencaesar.rosetta.sirius.viewpoint.batch;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.equinox.app.IApplication;
+import org.eclipse.equinox.app.IApplicationContext;
+import org.w3c.dom.Element;
+
+import io.opencaesar.oml.util.OmlConstants;
+import io.opencaesar.rosetta.sirius.viewpoint.Activator;
+
+/**
+ * A headless application that evaluates a batch of OML viewpoint service queries on an OML project
+ */
+public class OmlQueryApplication implements IApplication {
+
+	private static final Integer EXIT_ERROR = Integer.valueOf(1);
+
+	private static final Integer EXIT_USAGE = Integer.valueOf(2);
+
+	@Override
+	public Object start(IApplicationContext context) throws Exception {
+		var arguments = parseArguments((String[]) context.getArguments().get(IApplicationContext.APPLICATION_ARGS));
+		if (!arguments.containsKey("catalog") || !arguments.containsKey("queries")) {
+			log(IStatus.ERROR, "Usage: -catalog <catalog.xml> -queries <file> [-output <file>] [-format json|csv] [-threads <n>]", null);
+			return EXIT_USAGE;
+		}
+
+		var catalog = Paths.get(arguments.get("catalog")).toAbsolutePath();
+		if (Files.isDirectory(catalog)) {
+			catalog = catalog.resolve("catalog.xml");
+		}
+		if (!Files.isRegularFile(catalog)) {
+			log(IStatus.ERROR, "Catalog not found: " + catalog, null);
+			return EXIT_USAGE;
+		}
+		var queries = OmlQuery.read(Paths.get(arguments.get("queries")));
+		var threads = arguments.containsKey("threads") ? Integer.parseInt(arguments.get("threads")) : Runtime.getRuntime().availableProcessors();
+
+		var start = System.nanoTime();
+		var resourceSet = load(catalog, threads);
+		var loadNanos = System.nanoTime() - start;
+
+		var loadErrors = false;
+		for (Resource resource : resourceSet.getResources()) {
+			for (Resource.Diagnostic error : resource.getErrors()) {
+				log(IStatus.ERROR, resource.getURI() + ":" + error.getLine() + ": " + error.getMessage(), null);
+				loadErrors = true;
+			}
+		}
+
+		var report = new OmlQueryReport(catalog.toString(), resourceSet.getResources().size(), loadNanos);
+		for (OmlQuery query : queries) {
+			start = System.nanoTime();
+			try {
+				var result = query.evaluate(resourceSet);
+				report.add(new OmlQueryReport.Entry(query, System.nanoTime() - start, result, null));
+			} catch (Exception e) {
+				report.add(new OmlQueryReport.Entry(query, System.nanoTime() - start, null, String.valueOf(e)));
+			}
+		}
+
+		var output = arguments.get("output");
+		var format = arguments.getOrDefault("format", (output != null && output.endsWith(".csv")) ? "csv" : "json");
+		try (Writer writer = (output != null) ?
+				Files.newBufferedWriter(Paths.get(output), StandardCharsets.UTF_8) :
+				new OutputStreamWriter(System.out, StandardCharsets.UTF_8) {
+					@Override
+					public void close() throws IOException {
+						flush();
+					}
+				}) {
+			if (format.equals("csv")) {
+				report.writeCsv(writer);
+			} else {
+				report.writeJson(writer);
+			}
+		}
+
+		return (loadErrors || report.hasErrors()) ? EXIT_ERROR : IApplication.EXIT_OK;
+	}
+
+	@Override
+	public void stop() {
+		// queries are not interruptible
+	}
+
+	/**
+	 * Loads the OML files mapped by the rewrite rules of the given catalog (and its next catalogs) in one
+	 * resource set whose URI converter applies these rules.
+	 * 
+	 * The files are parsed in parallel into resources that are already in the resource set, and the proxies
+	 * are only resolved once all of them are loaded since the resource set is not thread-safe.
+	 * 
+	 * @param catalog The given catalog file
+	 * @param threads The number of threads
+	 * @return A resource set with the loaded resources
+	 * @throws IOException If the catalog folders cannot be walked
+	 * @throws InterruptedException If the loading is interrupted
+	 */
+	public static ResourceSet load(Path catalog, int threads) throws IOException, InterruptedException {
+		var resourceSet = new ResourceSetImpl();
+		var folders = new TreeSet<Path>();
+		readRules(catalog, resourceSet.getURIConverter().getURIMap(), folders, new HashSet<>());
+
+		var files = new TreeSet<Path>();
+		for (Path folder : folders) {
+			if (Files.isDirectory(folder)) {
+				try (Stream<Path> paths = Files.walk(folder)) {
+					paths
+						.filter(p -> Files.isRegularFile(p) && isOmlFile(p))
+						.filter(p -> !isHidden(folder.relativize(p)))
+						.forEach(files::add);
+				}
+			}
+		}
+
+		var resources = new ArrayList<Resource>();
+		for (Path file : files) {
+			resources.add(resourceSet.createResource(URI.createFileURI(file.toString())));
+		}
+
+		var pool = new ForkJoinPool(Math.max(1, threads));
+		try {
+			pool.submit(() -> resources.parallelStream().forEach(r -> loadResource(r, resourceSet.getLoadOptions()))).get();
+		} catch (ExecutionException e) {
+			throw new IOException(e.getCause());
+		} finally {
+			pool.shutdown();
+		}
+
+		EcoreUtil.resolveAll(resourceSet);
+		return resourceSet;
+	}
+
+	private static void readRules(Path catalog, Map<URI, URI> uriMap, Set<Path> folders, Set<Path> visited) {
+		if (!visited.add(catalog.normalize()) || !Files.isRegularFile(catalog)) {
+			return;
+		}
+		try {
+			var factory = DocumentBuilderFactory.newInstance();
+			factory.setNamespaceAware(true);
+			factory.setAttribute(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+			factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+			var document = factory.newDocumentBuilder().parse(catalog.toFile());
+			var elements = document.getElementsByTagNameNS("*", "rewriteURI");
+			for (int i = 0; i < elements.getLength(); i++) {
+				var element = (Element) elements.item(i);
+				var start = element.getAttribute("uriStartString");
+				var prefix = element.getAttribute("rewritePrefix");
+				if (!start.isEmpty() && !prefix.isEmpty() && !prefix.contains(":")) {
+					var folder = catalog.getParent().resolve(prefix).normalize();
+					folders.add(folder);
+					uriMap.putIfAbsent(URI.createURI(start), URI.createFileURI(folder.toString() + (start.endsWith("/") ? File.separator : "")));
+				}
+			}
+			var nextCatalogs = document.getElementsByTagNameNS("*", "nextCatalog");
+			for (int i = 0; i < nextCatalogs.getLength(); i++) {
+				var next = ((Element) nextCatalogs.item(i)).getAttribute("catalog");
+				if (!next.isEmpty() && !next.contains(":")) {
+					readRules(catalog.getParent().resolve(next), uriMap, folders, visited);
+				}
+			}
+		} catch (Exception e) {
+			log(IStatus.WARNING, "Could not read " + catalog, e);
+		}
+	}
+
+	private static boolean isOmlFile(Path path) {
+		var name = path.getFileName().toString();
+		var i = name.lastIndexOf('.');
+		return i > 0 && OmlConstants.OML_EXTENSION_LIST.contains(name.substring(i + 1));
+	}
+
+	private static void loadResource(Resource resource, Map<?, ?> options) {
+		try {
+			resource.load(options);
+		} catch (IOException | RuntimeException e) {
+			// the resource is kept (with its errors) so the failure is reported
+			if (resource.getErrors().isEmpty()) {
+				log(IStatus.ERROR, "Could not load " + resource.getURI(), e);
+			}
+		}
+	}
+
+	private static void log(int severity, String message, Throwable e) {
+		Activator.getDefault().getLog().log(new Status(severity, Activator.PLUGIN_ID, message, e));
+	}
+
+	private static boolean isHidden(Path relativePath) {
+		for (Path segment : relativePath) {
+			if (segment.toString().startsWith(".")) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static Map<String, String> parseArguments(String[] args) {
+		var arguments = new HashMap<String, String>();
+		if (args != null) {
+			for (int i = 0; i + 1 < args.length; i++) {
+				if (args[i].startsWith("-") && !args[i + 1].startsWith("-")) {
+					arguments.put(args[i].substring(1), args[++i]);
+				}
+			}
+		}
+		return arguments;
+	}
+
+}
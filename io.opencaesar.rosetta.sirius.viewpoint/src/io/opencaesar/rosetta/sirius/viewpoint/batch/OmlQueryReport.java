@@ -0,0 +1,207 @@
+/**
+ * 
+ * Copyright 2019-2021 California Institute of Technology ("Caltech").
+ * U.S. Government sponsorship acknowledged.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package io.opencaesar.rosetta.sirius.viewpoint.batch;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+import io.opencaesar.oml.Literal;
+import io.opencaesar.oml.Member;
+import io.opencaesar.oml.Ontology;
+
+/**
+ * A report of the results and timings of a batch of queries, written as JSON or CSV
+ */
+final class OmlQueryReport {
+
+	/**
+	 * The outcome of one query
+	 * 
+	 * @param query The query
+	 * @param nanos The time spent evaluating the query in nanoseconds
+	 * @param result The result of the query (null if it failed)
+	 * @param error The error message of the query (null if it succeeded)
+	 */
+	record Entry(OmlQuery query, long nanos, Object result, String error) {
+	}
+
+	private final String catalog;
+
+	private final int resourceCount;
+
+	private final long loadNanos;
+
+	private final List<Entry> entries = new ArrayList<>();
+
+	/**
+	 * Creates a new report
+	 * 
+	 * @param catalog The path of the loaded catalog
+	 * @param resourceCount The number of loaded resources
+	 * @param loadNanos The time spent loading the resources in nanoseconds
+	 */
+	OmlQueryReport(String catalog, int resourceCount, long loadNanos) {
+		this.catalog = catalog;
+		this.resourceCount = resourceCount;
+		this.loadNanos = loadNanos;
+	}
+
+	/**
+	 * Adds the outcome of a query to the report
+	 * 
+	 * @param entry The outcome of a query
+	 */
+	void add(Entry entry) {
+		entries.add(entry);
+	}
+
+	/**
+	 * @return Whether one of the queries failed
+	 */
+	boolean hasErrors() {
+		return entries.stream().anyMatch(e -> e.error != null);
+	}
+
+	/**
+	 * Writes the report as a JSON object
+	 * 
+	 * @param writer The writer to write to
+	 * @throws IOException If the report cannot be written
+	 */
+	void writeJson(Writer writer) throws IOException {
+		writer.write("{\n");
+		writer.write("  \"catalog\": " + json(catalog) + ",\n");
+		writer.write("  \"resources\": " + resourceCount + ",\n");
+		writer.write("  \"loadMillis\": " + millis(loadNanos) + ",\n");
+		writer.write("  \"queries\": [");
+		for (int i = 0; i < entries.size(); i++) {
+			var entry = entries.get(i);
+			writer.write((i > 0) ? ",\n" : "\n");
+			writer.write("    {\"name\": " + json(entry.query.getName()));
+			writer.write(", \"service\": " + json(entry.query.getService()));
+			writer.write(", \"arguments\": [" + entry.query.getArguments().stream().map(a -> json(a)).collect(Collectors.joining(", ")) + "]");
+			writer.write(", \"millis\": " + millis(entry.nanos));
+			if (entry.error != null) {
+				writer.write(", \"error\": " + json(entry.error));
+			} else {
+				writer.write(", \"size\": " + size(entry.result));
+				writer.write(", \"result\": " + toJson(entry.result));
+			}
+			writer.write("}");
+		}
+		writer.write("\n  ]\n}\n");
+		writer.flush();
+	}
+
+	/**
+	 * Writes the report as CSV with one row per query
+	 * 
+	 * @param writer The writer to write to
+	 * @throws IOException If the report cannot be written
+	 */
+	void writeCsv(Writer writer) throws IOException {
+		writer.write("name,service,arguments,millis,size,result,error\n");
+		for (Entry entry : entries) {
+			var result = (entry.error == null) ? toText(entry.result) : "";
+			var size = (entry.error == null) ? String.valueOf(size(entry.result)) : "";
+			writer.write(String.join(",",
+				csv(entry.query.getName()),
+				csv(entry.query.getService()),
+				csv(String.join(", ", entry.query.getArguments())),
+				millis(entry.nanos),
+				size,
+				csv(result),
+				csv((entry.error != null) ? entry.error : "")));
+			writer.write("\n");
+		}
+		writer.flush();
+	}
+
+	private static int size(Object result) {
+		if (result instanceof Collection<?>) {
+			return ((Collection<?>) result).size();
+		}
+		return (result != null) ? 1 : 0;
+	}
+
+	private static String toJson(Object value) {
+		if (value instanceof Collection<?>) {
+			return ((Collection<?>) value).stream().map(v -> toJson(v)).collect(Collectors.joining(", ", "[", "]"));
+		} else if (value instanceof Boolean || value instanceof Number) {
+			return value.toString();
+		}
+		return (value != null) ? json(toText(value)) : "null";
+	}
+
+	private static String toText(Object value) {
+		if (value instanceof Collection<?>) {
+			return ((Collection<?>) value).stream().map(v -> toText(v)).collect(Collectors.joining(" "));
+		} else if (value instanceof Ontology) {
+			return ((Ontology) value).getIri();
+		} else if (value instanceof Member) {
+			return ((Member) value).getIri();
+		} else if (value instanceof Literal) {
+			return ((Literal) value).getLexicalValue();
+		} else if (value instanceof EObject) {
+			return EcoreUtil.getURI((EObject) value).toString();
+		}
+		return String.valueOf(value);
+	}
+
+	private static String millis(long nanos) {
+		return String.format(Locale.ROOT, "%.3f", nanos / 1e6);
+	}
+
+	private static String json(String text) {
+		var builder = new StringBuilder("\"");
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			switch (c) {
+				case '"': builder.append("\\\""); break;
+				case '\\': builder.append("\\\\"); break;
+				case '\n': builder.append("\\n"); break;
+				case '\r': builder.append("\\r"); break;
+				case '\t': builder.append("\\t"); break;
+				default:
+					if (c < 0x20) {
+						builder.append(String.format("\\u%04x", (int) c));
+					} else {
+						builder.append(c);
+					}
+			}
+		}
+		return builder.append('"').toString();
+	}
+
+	private static String csv(String text) {
+		if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0) {
+			return text;
+		}
+		return "\"" + text.replace("\"", "\"\"") + "\"";
+	}
+
+}
@@ -0,0 +1,241 @@
+/**
+ * 
+ * Copyright 2019-2021 California Institute of Technology ("Caltech").
+ * U.S. Government sponsorship acknowledged.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package io.opencaesar.rosetta.sirius.viewpoint.index;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+
+import io.opencaesar.oml.Import;
+import io.opencaesar.oml.Member;
+import io.opencaesar.oml.OmlPackage;
+import io.opencaesar.oml.Ontology;
+import io.opencaesar.oml.util.OmlRead;
+
+/**
+ * An index that resolves abbreviated iris (e.g., "base:Component") to members in a resource set
+ */
+public final class AbbreviatedIriIndex extends OmlIndex {
+
+	private final ResourceSet resourceSet;
+
+	private final Map<Ontology, OntologyEntry> entries = new ConcurrentHashMap<>();
+
+	private final MemberTable resourceSetMembers = new MemberTable();
+
+	private AbbreviatedIriIndex(ResourceSet resourceSet) {
+		this.resourceSet = resourceSet;
+	}
+
+	/**
+	 * Gets the abbreviated iri index of the given resource set
+	 * 
+	 * @param resourceSet The given resource set
+	 * @return The abbreviated iri index of the resource set
+	 */
+	public static AbbreviatedIriIndex get(ResourceSet resourceSet) {
+		return OmlIndexAdapter.getIndex(resourceSet, AbbreviatedIriIndex.class, AbbreviatedIriIndex::new);
+	}
+
+	/**
+	 * Gets the abbreviated iri index of the resource set of the given object
+	 * 
+	 * @param object The given object
+	 * @return The abbreviated iri index of the resource set, or null if the object is not in a resource set
+	 */
+	public static AbbreviatedIriIndex get(EObject object) {
+		return OmlIndexAdapter.getIndex(object, AbbreviatedIriIndex.class, AbbreviatedIriIndex::new);
+	}
+
+	/**
+	 * Gets the member with the given abbreviated iri in the context of the given ontology
+	 * 
+	 * @param ontology The given context ontology
+	 * @param abbreviatedIri The given abbreviated iri
+	 * @return The resolved member, or null if none is found
+	 */
+	public Member getMember(Ontology ontology, String abbreviatedIri) {
+		var entry = getEntry(ontology);
+		var member = entry.members.get(abbreviatedIri);
+		if (member == null) {
+			member = Optional.ofNullable(entry.resolve(abbreviatedIri));
+			entry.members.put(abbreviatedIri, member);
+		}
+		return member.orElse(null);
+	}
+
+	/**
+	 * Gets the member with the given abbreviated iri in the context of the whole resource set
+	 * 
+	 * @param abbreviatedIri The given abbreviated iri
+	 * @return The resolved member, or null if none is found
+	 */
+	public Member getMember(String abbreviatedIri) {
+		var member = resourceSetMembers.get(abbreviatedIri);
+		if (member == null) {
+			member = Optional.ofNullable(OmlRead.getMemberByAbbreviatedIri(resourceSet, abbreviatedIri));
+			resourceSetMembers.put(abbreviatedIri, member);
+		}
+		return member.orElse(null);
+	}
+
+	/**
+	 * Gets the namespace bound to the given prefix in the context of the given ontology
+	 * 
+	 * @param ontology The given context ontology
+	 * @param prefix The given prefix
+	 * @return The namespace bound to the prefix, or null if the prefix is not declared explicitly
+	 */
+	public String getNamespace(Ontology ontology, String prefix) {
+		return getEntry(ontology).namespaces.get(prefix);
+	}
+
+	@Override
+	protected void notifyChanged(Notification notification) {
+		if (isResourceChange(notification) || isImportChange(notification)) {
+			clear();
+		} else if (notification.getNotifier() instanceof Member && notification.getFeature() == OmlPackage.Literals.MEMBER__NAME) {
+			// a renamed member no longer resolves by its old abbreviated iri, and may now resolve an unresolved one
+			var member = (Member) notification.getNotifier();
+			invalidate(notification.getOldStringValue(), m -> m.isPresent() && m.get() == member);
+			invalidate(notification.getNewStringValue(), m -> m.isEmpty());
+		} else if (isValueOfType(notification, Member.class)) {
+			for (Member member : getMembers(notification.getOldValue())) {
+				invalidate(member.getName(), m -> m.isPresent() && m.get() == member);
+			}
+			for (Member member : getMembers(notification.getNewValue())) {
+				invalidate(member.getName(), m -> m.isEmpty());
+			}
+		}
+	}
+
+	@Override
+	public void clear() {
+		entries.clear();
+		resourceSetMembers.clear();
+	}
+
+	private OntologyEntry getEntry(Ontology ontology) {
+		var entry = entries.get(ontology);
+		if (entry == null) {
+			entry = new OntologyEntry(ontology);
+			entries.put(ontology, entry);
+		}
+		return entry;
+	}
+
+	private void invalidate(String name, Predicate<Optional<Member>> predicate) {
+		if (name != null) {
+			resourceSetMembers.invalidate(name, predicate);
+			entries.values().forEach(e -> e.members.invalidate(name, predicate));
+		}
+	}
+
+	private static Set<Member> getMembers(Object value) {
+		var members = new HashSet<Member>();
+		if (value instanceof Collection<?>) {
+			((Collection<?>) value).forEach(v -> members.addAll(getMembers(v)));
+		} else if (value instanceof Member) {
+			members.add((Member) value);
+			((Member) value).eAllContents().forEachRemaining(o -> {
+				if (o instanceof Member) {
+					members.add((Member) o);
+				}
+			});
+		}
+		return members;
+	}
+
+	/**
+	 * The resolved members of abbreviated iris grouped by the member name they end with
+	 */
+	private static class MemberTable {
+
+		private final Map<String, Map<String, Optional<Member>>> byName = new ConcurrentHashMap<>();
+
+		private Optional<Member> get(String abbreviatedIri) {
+			var members = byName.get(getName(abbreviatedIri));
+			return (members != null) ? members.get(abbreviatedIri) : null;
+		}
+
+		private void put(String abbreviatedIri, Optional<Member> member) {
+			byName.computeIfAbsent(getName(abbreviatedIri), k -> new ConcurrentHashMap<>()).put(abbreviatedIri, member);
+		}
+
+		private void invalidate(String name, Predicate<Optional<Member>> predicate) {
+			var members = byName.get(name);
+			if (members != null) {
+				members.values().removeIf(predicate);
+			}
+		}
+
+		private void clear() {
+			byName.clear();
+		}
+
+		private static String getName(String abbreviatedIri) {
+			return abbreviatedIri.substring(abbreviatedIri.indexOf(':') + 1);
+		}
+	}
+
+	/**
+	 * The resolution tables of an ontology context
+	 */
+	private static class OntologyEntry {
+
+		private final Ontology ontology;
+
+		private final Map<String, String> namespaces = new HashMap<>();
+
+		private final MemberTable members = new MemberTable();
+
+		private OntologyEntry(Ontology ontology) {
+			this.ontology = ontology;
+			if (ontology.getPrefix() != null) {
+				namespaces.put(ontology.getPrefix(), ontology.getNamespace());
+			}
+			for (Import i : ontology.getOwnedImports()) {
+				if (i.getPrefix() != null && i.getNamespace() != null) {
+					namespaces.putIfAbsent(i.getPrefix(), i.getNamespace());
+				}
+			}
+		}
+
+		private Member resolve(String abbreviatedIri) {
+			var i = abbreviatedIri.indexOf(':');
+			if (i > 0) {
+				var namespace = namespaces.get(abbreviatedIri.substring(0, i));
+				if (namespace != null) {
+					return OmlRead.getMemberByIri(ontology, namespace + abbreviatedIri.substring(i + 1));
+				}
+			}
+			return OmlRead.getMemberByAbbreviatedIri(ontology, abbreviatedIri);
+		}
+	}
+
+}
@@ -0,0 +1,182 @@
+/**
+ * 
+ * Copyright 2019-2021 California Institute of Technology ("Caltech").
+ * U.S. Government sponsorship acknowledged.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package io.opencaesar.rosetta.sirius.viewpoint.index;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EObject;
+
+import io.opencaesar.oml.CardinalityRestrictionKind;
+import io.opencaesar.oml.Entity;
+import io.opencaesar.oml.PropertyCardinalityRestrictionAxiom;
+import io.opencaesar.oml.PropertyRestrictionAxiom;
+import io.opencaesar.oml.SemanticProperty;
+
+/**
+ * An index of the (unqualified) cardinality restrictions of the entities of a resource set
+ */
+public final class CardinalityIndex extends OmlIndex {
+
+	/**
+	 * The cardinalities of a property restricted by an entity, where {@link #NONE} means no restriction
+	 * 
+	 * @param exactly The exact cardinality
+	 * @param min The min cardinality
+	 * @param max The max cardinality
+	 */
+	public record Cardinality(long exactly, long min, long max) {
+
+		/**
+		 * The value of an unrestricted cardinality
+		 */
+		public static final long NONE = -1;
+
+		/**
+		 * The cardinality of an unrestricted property
+		 */
+		public static final Cardinality UNRESTRICTED = new Cardinality(NONE, NONE, NONE);
+
+		/**
+		 * Gets the effective min cardinality (the exact one if any, otherwise the min one)
+		 * 
+		 * @return The min cardinality or {@link #NONE}
+		 */
+		public long getMin() {
+			return (exactly != NONE) ? exactly : min;
+		}
+
+		/**
+		 * Gets the effective max cardinality (the exact one if any, otherwise the max one)
+		 * 
+		 * @return The max cardinality or {@link #NONE}
+		 */
+		public long getMax() {
+			return (exactly != NONE) ? exactly : max;
+		}
+
+		private Cardinality with(CardinalityRestrictionKind kind, long cardinality) {
+			switch (kind) {
+				case EXACTLY: return (exactly == NONE) ? new Cardinality(cardinality, min, max) : this;
+				case MIN: return (min == NONE) ? new Cardinality(exactly, cardinality, max) : this;
+				case MAX: return (max == NONE) ? new Cardinality(exactly, min, cardinality) : this;
+				default: return this;
+			}
+		}
+	}
+
+	private final Map<Entity, Map<SemanticProperty, Cardinality>> tables = new HashMap<>();
+
+	private CardinalityIndex() {
+	}
+
+	/**
+	 * Gets the cardinality index of the resource set of the given object
+	 * 
+	 * @param object The given object
+	 * @return The cardinality index of the resource set, or null if the object is not in a resource set
+	 */
+	public static CardinalityIndex get(EObject object) {
+		return OmlIndexAdapter.getIndex(object, CardinalityIndex.class, r -> new CardinalityIndex());
+	}
+
+	/**
+	 * Gets the cardinalities of the given property as restricted by the given entity, with or without an index
+	 * 
+	 * @param entity The given entity
+	 * @param property The given property
+	 * @return The cardinalities of the property (never null)
+	 */
+	public static Cardinality getCardinality(Entity entity, SemanticProperty property) {
+		var index = get(entity);
+		var table = (index != null) ? index.getTable(entity) : computeTable(entity);
+		return table.getOrDefault(property, Cardinality.UNRESTRICTED);
+	}
+
+	/**
+	 * Gets the (unmodifiable) table of the cardinalities of the properties restricted by the given entity
+	 * 
+	 * @param entity The given entity
+	 * @return A map from a property to its cardinalities
+	 */
+	public synchronized Map<SemanticProperty, Cardinality> getTable(Entity entity) {
+		var table = tables.get(entity);
+		if (table == null) {
+			table = computeTable(entity);
+			tables.put(entity, table);
+		}
+		return table;
+	}
+
+	/**
+	 * Gets the number of entities whose table has been computed so far
+	 * 
+	 * @return The number of indexed entities
+	 */
+	public synchronized int size() {
+		return tables.size();
+	}
+
+	private static Map<SemanticProperty, Cardinality> computeTable(Entity entity) {
+		Map<SemanticProperty, Cardinality> table = null;
+		for (PropertyRestrictionAxiom axiom : entity.getOwnedPropertyRestrictions()) {
+			if (axiom instanceof PropertyCardinalityRestrictionAxiom) {
+				var restriction = (PropertyCardinalityRestrictionAxiom) axiom;
+				if (restriction.getRange() == null && restriction.getProperty() != null && restriction.getKind() != null) {
+					if (table == null) {
+						table = new HashMap<>();
+					}
+					var cardinality = table.getOrDefault(restriction.getProperty(), Cardinality.UNRESTRICTED);
+					table.put(restriction.getProperty(), cardinality.with(restriction.getKind(), restriction.getCardinality()));
+				}
+			}
+		}
+		return (table != null) ? Collections.unmodifiableMap(table) : Collections.emptyMap();
+	}
+
+	private synchronized void invalidate(Object entity) {
+		tables.remove(entity);
+	}
+
+	@Override
+	protected void notifyChanged(Notification notification) {
+		var notifier = notification.getNotifier();
+		if (isResourceChange(notification)) {
+			clear();
+		} else if (notifier instanceof Entity && isValueOfType(notification, PropertyRestrictionAxiom.class)) {
+			invalidate(notifier);
+		} else if (notifier instanceof PropertyRestrictionAxiom) {
+			invalidate(((EObject) notifier).eContainer());
+		} else if (notification.getOldValue() != null && isValueOfType(notification, Entity.class)) {
+			var oldValue = notification.getOldValue();
+			var oldEntities = (oldValue instanceof Collection<?>) ? (Collection<?>) oldValue : List.of(oldValue);
+			oldEntities.forEach(e -> invalidate(e));
+		}
+	}
+
+	@Override
+	public synchronized void clear() {
+		tables.clear();
+	}
+
+}
@@ -0,0 +1,205 @@
+/**
+ * 
+ * Copyright 2019-2021 California Institute of Technology ("Caltech").
+ * U.S. Government sponsorship acknowledged.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package io.opencaesar.rosetta.sirius.viewpoint.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+
+import io.opencaesar.oml.ConceptInstance;
+import io.opencaesar.oml.Description;
+import io.opencaesar.oml.NamedInstance;
+import io.opencaesar.oml.PropertyValueAssertion;
+import io.opencaesar.oml.Relation;
+import io.opencaesar.oml.RelationInstance;
+import io.opencaesar.oml.util.OmlSwitch;
+
+/**
+ * A cache of the named instances that each description in a resource set declares or references
+ */
+public final class DescriptionInstanceCache extends OmlIndex {
+
+	/**
+	 * The minimum number of resolved descriptions to (re)compute before they are filtered in parallel
+	 */
+	public static final int PARALLEL_THRESHOLD = 8;
+
+	private final Map<Resource, Set<NamedInstance>> contributions = new ConcurrentHashMap<>();
+
+	/**
+	 * Gets the description instance cache of the resource set of the given object
+	 * 
+	 * @param object The given object
+	 * @return The description instance cache of the resource set, or null if the object is not in a resource set
+	 */
+	public static DescriptionInstanceCache get(EObject object) {
+		return OmlIndexAdapter.getIndex(object, DescriptionInstanceCache.class, r -> new DescriptionInstanceCache());
+	}
+
+	/**
+	 * Gets the named instances declared or referenced by the given descriptions
+	 * 
+	 * @param descriptions The given descriptions
+	 * @return A set of named instances ordered by the given descriptions
+	 */
+	public Set<NamedInstance> getNamedInstances(Collection<Description> descriptions) {
+		var computed = new HashMap<Description, Set<NamedInstance>>();
+		var dirty = descriptions.stream()
+			.filter(d -> d.eResource() == null || !contributions.containsKey(d.eResource()))
+			.distinct()
+			.collect(Collectors.toList());
+		// the proxies are resolved on the calling thread since they can load resources in the resource set (which
+		// is not thread-safe), and only the filtering of the fully resolved descriptions is done in parallel
+		var snapshots = new HashMap<Description, List<EObject>>();
+		for (Description description : dirty) {
+			var snapshot = resolveContents(description);
+			if (snapshot != null) {
+				snapshots.put(description, snapshot);
+			} else {
+				computed.put(description, Collections.unmodifiableSet(collectNamedInstances(description)));
+			}
+		}
+		var stream = (snapshots.size() >= PARALLEL_THRESHOLD) ? snapshots.entrySet().parallelStream() : snapshots.entrySet().stream();
+		computed.putAll(stream.collect(Collectors.toMap(e -> e.getKey(), e -> Collections.unmodifiableSet(collectNamedInstances(e.getValue().iterator())))));
+		for (Description description : dirty) {
+			if (description.eResource() != null) {
+				contributions.put(description.eResource(), computed.get(description));
+			}
+		}
+		var instances = new LinkedHashSet<NamedInstance>();
+		for (Description description : descriptions) {
+			var contribution = computed.get(description);
+			if (contribution == null) {
+				contribution = contributions.get(description.eResource());
+			}
+			if (contribution == null) {
+				// invalidated by a change made since the dirty descriptions were computed
+				contribution = collectNamedInstances(description);
+			}
+			instances.addAll(contribution);
+		}
+		return instances;
+	}
+
+	/**
+	 * Collects the named instances declared or referenced by the given object and its contents
+	 * 
+	 * @param object The given object
+	 * @return A set of named instances
+	 */
+	public static Set<NamedInstance> collectNamedInstances(EObject object) {
+		return collectNamedInstances(object.eAllContents());
+	}
+
+	private static Set<NamedInstance> collectNamedInstances(Iterator<? extends EObject> contents) {
+		var instances = new LinkedHashSet<NamedInstance>();
+		var visitor = new OmlSwitch<Void>() {
+			@Override
+			public Void caseConceptInstance(ConceptInstance object) {
+				instances.add((ConceptInstance)object.resolve());
+				return null;
+			}
+			@Override
+			public Void caseRelationInstance(RelationInstance object) {
+				instances.add((RelationInstance)object.resolve());
+				instances.addAll(object.getSources());
+				instances.addAll(object.getTargets());
+				return null;
+			}
+			@Override
+			public Void casePropertyValueAssertion(PropertyValueAssertion object) {
+				if (object.getProperty() instanceof Relation && object.getObject() != null) {
+					instances.add((NamedInstance)object.getObject());
+				}
+				return null;
+			}
+		};
+		contents.forEachRemaining(o -> visitor.doSwitch(o));
+		return instances;
+	}
+
+	/**
+	 * Resolves the cross references of the contents of the given object
+	 * 
+	 * @param object The given object
+	 * @return A snapshot of the contents, or null if some cross reference is an unresolvable proxy
+	 */
+	private static List<EObject> resolveContents(EObject object) {
+		var contents = new ArrayList<EObject>();
+		for (var i = object.eAllContents(); i.hasNext(); ) {
+			var o = i.next();
+			for (EObject reference : o.eCrossReferences()) {
+				if (reference.eIsProxy()) {
+					return null;
+				}
+			}
+			contents.add(o);
+		}
+		return contents;
+	}
+
+	@Override
+	protected void notifyChanged(Notification notification) {
+		var notifier = notification.getNotifier();
+		if (notifier instanceof ResourceSet) {
+			forEachValue(notification.getOldValue(), v -> contributions.remove(v));
+		} else if (notifier instanceof Resource) {
+			contributions.remove(notifier);
+		} else if (notifier instanceof EObject) {
+			var resource = ((EObject) notifier).eResource();
+			if (resource != null) {
+				contributions.remove(resource);
+			}
+			// other descriptions may reference a removed instance
+			forEachValue(notification.getOldValue(), v -> {
+				if (v instanceof NamedInstance) {
+					contributions.values().removeIf(s -> s.contains(v));
+				}
+			});
+		}
+	}
+
+	@Override
+	public void clear() {
+		contributions.clear();
+	}
+
+	private static void forEachValue(Object value, Consumer<Object> consumer) {
+		if (value instanceof Collection<?>) {
+			((Collection<?>) value).forEach(consumer);
+		} else if (value != null) {
+			consumer.accept(value);
+		}
+	}
+
+}
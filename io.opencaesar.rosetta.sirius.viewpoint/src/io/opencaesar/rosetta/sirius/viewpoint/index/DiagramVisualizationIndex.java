@@ -0,0 +1,316 @@
+/**
+ * 
+ * Copyright 2019-2021 California Institute of Technology ("Caltech").
+ * U.S. Government sponsorship acknowledged.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package io.opencaesar.rosetta.sirius.viewpoint.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.sirius.diagram.DDiagram;
+import org.eclipse.sirius.diagram.DDiagramElement;
+import org.eclipse.sirius.diagram.DiagramPackage;
+import org.eclipse.sirius.viewpoint.ViewpointPackage;
+
+import io.opencaesar.oml.IdentifiedElement;
+import io.opencaesar.oml.Member;
+import io.opencaesar.oml.Ontology;
+
+/**
+ * An index of the identified elements that are (or are not) visualized on a diagram
+ */
+public final class DiagramVisualizationIndex implements Adapter, MemberIndex.Listener {
+
+	private final DDiagram diagram;
+
+	private final MemberIndex memberIndex;
+
+	private final Map<IdentifiedElement, Integer> visualized = new HashMap<>();
+
+	private final Set<IdentifiedElement> unvisualized = new LinkedHashSet<>();
+
+	/** The number of elements added to the unvisualized set since it was last put in ontology order */
+	private int insertions;
+
+	private Set<IdentifiedElement> snapshot;
+
+	private DiagramVisualizationIndex(DDiagram diagram, MemberIndex memberIndex) {
+		this.diagram = diagram;
+		this.memberIndex = memberIndex;
+	}
+
+	/**
+	 * Gets the visualization index of the given diagram (installing a new one if needed)
+	 * 
+	 * @param diagram The given diagram
+	 * @return The visualization index of the diagram, or null if the diagram is not in a resource set
+	 */
+	public static DiagramVisualizationIndex get(DDiagram diagram) {
+		DiagramVisualizationIndex index = null;
+		synchronized (diagram.eAdapters()) {
+			for (Adapter adapter : diagram.eAdapters()) {
+				if (adapter instanceof DiagramVisualizationIndex) {
+					index = (DiagramVisualizationIndex) adapter;
+				}
+			}
+			if (index == null) {
+				var memberIndex = MemberIndex.get(diagram);
+				if (memberIndex == null) {
+					return null;
+				}
+				index = new DiagramVisualizationIndex(diagram, memberIndex);
+				diagram.eAdapters().add(index);
+				for (DDiagramElement element : diagram.getOwnedDiagramElements()) {
+					index.attach(element);
+				}
+				memberIndex.addListener(index);
+			}
+		}
+		index.memberIndex.sync();
+		return index;
+	}
+
+	/**
+	 * Gets the identified elements that are targeted by the owned elements of the diagram
+	 * 
+	 * @return A set of identified elements
+	 */
+	public synchronized Set<IdentifiedElement> getVisualizedElements() {
+		return new LinkedHashSet<>(visualized.keySet());
+	}
+
+	/**
+	 * Gets the loaded ontologies and the members that are not targeted by the owned elements of the diagram
+	 * 
+	 * @return An unmodifiable set of identified elements (a snapshot shared until the next change)
+	 */
+	public Set<IdentifiedElement> getUnvisualizedElements() {
+		int reordered;
+		synchronized (this) {
+			if (snapshot != null) {
+				return snapshot;
+			}
+			if (insertions == 0) {
+				snapshot = Collections.unmodifiableSet(new LinkedHashSet<>(unvisualized));
+				return snapshot;
+			}
+			reordered = insertions;
+		}
+		// the order is read outside of the lock since the member index notifies this index under its own lock
+		var order = memberIndex.getElements();
+		synchronized (this) {
+			var elements = new LinkedHashSet<IdentifiedElement>(unvisualized.size());
+			order.stream().filter(e -> unvisualized.contains(e)).forEach(e -> elements.add(e));
+			elements.addAll(unvisualized);
+			unvisualized.clear();
+			unvisualized.addAll(elements);
+			insertions -= reordered;
+			var result = Collections.unmodifiableSet(elements);
+			if (insertions == 0) {
+				snapshot = result;
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * Gets a page of the unvisualized elements whose (abbreviated) iri contains the given filter text
+	 * 
+	 * @param filter The given filter text (case insensitive, or null or empty to match all elements)
+	 * @param offset The number of matching elements to skip
+	 * @param limit The maximum number of matching elements to return (negative for no limit)
+	 * @return A list of identified elements
+	 */
+	public List<IdentifiedElement> getUnvisualizedElements(String filter, int offset, int limit) {
+		return getMatchingElements(getUnvisualizedElements(), filter, offset, limit);
+	}
+
+	/**
+	 * Counts the unvisualized elements whose (abbreviated) iri contains the given filter text
+	 * 
+	 * @param filter The given filter text (case insensitive, or null or empty to match all elements)
+	 * @return The number of matching elements
+	 */
+	public int countUnvisualizedElements(String filter) {
+		return countMatchingElements(getUnvisualizedElements(), filter);
+	}
+
+	/**
+	 * Gets a page of the given elements whose (abbreviated) iri contains the given filter text
+	 * 
+	 * @param elements The given elements
+	 * @param filter The given filter text (case insensitive, or null or empty to match all elements)
+	 * @param offset The number of matching elements to skip
+	 * @param limit The maximum number of matching elements to return (negative for no limit)
+	 * @return A list of identified elements
+	 */
+	public static List<IdentifiedElement> getMatchingElements(Collection<IdentifiedElement> elements, String filter, int offset, int limit) {
+		var text = normalize(filter);
+		var page = new ArrayList<IdentifiedElement>();
+		int skipped = 0;
+		for (IdentifiedElement element : elements) {
+			if (limit >= 0 && page.size() >= limit) {
+				break;
+			}
+			if (text == null || matches(element, text)) {
+				if (skipped < offset) {
+					skipped++;
+				} else {
+					page.add(element);
+				}
+			}
+		}
+		return page;
+	}
+
+	/**
+	 * Counts the given elements whose (abbreviated) iri contains the given filter text
+	 * 
+	 * @param elements The given elements
+	 * @param filter The given filter text (case insensitive, or null or empty to match all elements)
+	 * @return The number of matching elements
+	 */
+	public static int countMatchingElements(Collection<IdentifiedElement> elements, String filter) {
+		var text = normalize(filter);
+		if (text == null) {
+			return elements.size();
+		}
+		return (int) elements.stream().filter(e -> matches(e, text)).count();
+	}
+
+	@Override
+	public synchronized void elementsAdded(Collection<IdentifiedElement> elements) {
+		snapshot = null;
+		for (IdentifiedElement element : elements) {
+			if (element instanceof Ontology || !visualized.containsKey(element)) {
+				if (unvisualized.add(element)) {
+					insertions++;
+				}
+			}
+		}
+	}
+
+	@Override
+	public synchronized void elementsRemoved(Collection<IdentifiedElement> elements) {
+		snapshot = null;
+		unvisualized.removeAll(elements);
+	}
+
+	@Override
+	public synchronized void notifyChanged(Notification notification) {
+		if (notification.isTouch()) {
+			return;
+		}
+		var feature = notification.getFeature();
+		if (notification.getNotifier() == diagram && feature == DiagramPackage.Literals.DDIAGRAM__OWNED_DIAGRAM_ELEMENTS) {
+			forEachElement(notification.getOldValue(), e -> detach(e));
+			forEachElement(notification.getNewValue(), e -> attach(e));
+		} else if (notification.getNotifier() instanceof DDiagramElement && feature == ViewpointPackage.Literals.DSEMANTIC_DECORATOR__TARGET) {
+			unvisualize(notification.getOldValue());
+			visualize(notification.getNewValue());
+		}
+	}
+
+	@Override
+	public Notifier getTarget() {
+		return diagram;
+	}
+
+	@Override
+	public void setTarget(Notifier newTarget) {
+		// the adapter is attached to the diagram and its owned elements
+	}
+
+	@Override
+	public boolean isAdapterForType(Object type) {
+		return type == DiagramVisualizationIndex.class;
+	}
+
+	private void attach(DDiagramElement element) {
+		element.eAdapters().add(this);
+		visualize(element.getTarget());
+	}
+
+	private void detach(DDiagramElement element) {
+		element.eAdapters().remove(this);
+		unvisualize(element.getTarget());
+	}
+
+	private void visualize(Object target) {
+		if (target instanceof IdentifiedElement) {
+			var element = (IdentifiedElement) target;
+			if (visualized.merge(element, 1, Integer::sum) == 1 && !(element instanceof Ontology)) {
+				snapshot = null;
+				unvisualized.remove(element);
+			}
+		}
+	}
+
+	private void unvisualize(Object target) {
+		if (target instanceof IdentifiedElement) {
+			var element = (IdentifiedElement) target;
+			var count = visualized.get(element);
+			if (count == null) {
+				return;
+			} else if (count > 1) {
+				visualized.put(element, count - 1);
+			} else {
+				visualized.remove(element);
+				if (!(element instanceof Ontology) && memberIndex.contains(element)) {
+					if (unvisualized.add(element)) {
+						snapshot = null;
+						insertions++;
+					}
+				}
+			}
+		}
+	}
+
+	private static void forEachElement(Object value, Consumer<DDiagramElement> consumer) {
+		if (value instanceof Collection<?>) {
+			((Collection<?>) value).forEach(v -> forEachElement(v, consumer));
+		} else if (value instanceof DDiagramElement) {
+			consumer.accept((DDiagramElement) value);
+		}
+	}
+
+	private static String normalize(String filter) {
+		return (filter == null || filter.isBlank()) ? null : filter.trim().toLowerCase(Locale.ROOT);
+	}
+
+	private static boolean matches(IdentifiedElement element, String text) {
+		String label = null;
+		if (element instanceof Member) {
+			label = ((Member) element).getAbbreviatedIri();
+		} else if (element instanceof Ontology) {
+			label = ((Ontology) element).getIri();
+		}
+		return label != null && label.toLowerCase(Locale.ROOT).contains(text);
+	}
+
+}
@@ -0,0 +1,152 @@
+/**
+ * 
+ * Copyright 2019-2021 California Institute of Technology ("Caltech").
+ * U.S. Government sponsorship acknowledged.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package io.opencaesar.rosetta.sirius.viewpoint.index;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EObject;
+
+import io.opencaesar.oml.Member;
+import io.opencaesar.oml.Ontology;
+import io.opencaesar.oml.Statement;
+import io.opencaesar.oml.util.OmlRead;
+
+/**
+ * A cache of snapshots of the imported ontology closures of the ontologies in a resource set
+ */
+public final class ImportClosureCache extends OmlIndex {
+
+	/**
+	 * A snapshot of the imported ontology closure of an ontology
+	 * 
+	 * @param ontologies The (unmodifiable) ontologies of the closure, including the ontology itself
+	 * @param members The (unmodifiable) members of the ontologies of the closure
+	 * @param statements The (unmodifiable) statements of the ontologies of the closure
+	 */
+	public record Snapshot(List<Ontology> ontologies, Set<Member> members, Set<Statement> statements) {
+	}
+
+	private final Map<Ontology, Snapshot> snapshots = new HashMap<>();
+
+	private long generation;
+
+	/**
+	 * Gets the import closure cache of the resource set of the given object
+	 * 
+	 * @param object The given object
+	 * @return The import closure cache of the resource set, or null if the object is not in a resource set
+	 */
+	public static ImportClosureCache get(EObject object) {
+		return OmlIndexAdapter.getIndex(object, ImportClosureCache.class, r -> new ImportClosureCache());
+	}
+
+	/**
+	 * Gets the snapshot of the import closure of the given ontology from the cache of its resource set, or
+	 * computes it when the ontology is not in a resource set
+	 * 
+	 * @param ontology The given ontology
+	 * @return The snapshot of the import closure of the ontology
+	 */
+	public static Snapshot getSnapshot(Ontology ontology) {
+		var cache = get(ontology);
+		return (cache != null) ? cache.getClosure(ontology) : computeSnapshot(ontology);
+	}
+
+	/**
+	 * Gets the snapshot of the import closure of the given ontology
+	 * 
+	 * @param ontology The given ontology
+	 * @return The snapshot of the import closure of the ontology
+	 */
+	public Snapshot getClosure(Ontology ontology) {
+		long startGeneration;
+		synchronized (this) {
+			var snapshot = snapshots.get(ontology);
+			if (snapshot != null) {
+				return snapshot;
+			}
+			startGeneration = generation;
+		}
+		// computed outside of the lock since computing the closure can load resources (and change the models)
+		var snapshot = computeSnapshot(ontology);
+		synchronized (this) {
+			if (generation == startGeneration) {
+				snapshots.put(ontology, snapshot);
+			}
+		}
+		return snapshot;
+	}
+
+	private static Snapshot computeSnapshot(Ontology ontology) {
+		var ontologies = OmlRead.getImportedOntologyClosure(ontology, true);
+		Set<Member> members = ontologies.stream()
+				.flatMap(i -> OmlRead.getMembers(i).stream())
+				.collect(Collectors.toCollection(LinkedHashSet::new));
+		Set<Statement> statements = ontologies.stream()
+				.flatMap(i -> OmlRead.getStatements(i).stream())
+				.collect(Collectors.toCollection(LinkedHashSet::new));
+		return new Snapshot(
+				Collections.unmodifiableList(ontologies),
+				Collections.unmodifiableSet(members),
+				Collections.unmodifiableSet(statements));
+	}
+
+	@Override
+	protected synchronized void notifyChanged(Notification notification) {
+		generation++;
+		if (isResourceChange(notification) || isImportChange(notification)) {
+			clear();
+		} else if (!snapshots.isEmpty() && (isValueOfType(notification, Statement.class) || isValueOfType(notification, Member.class))) {
+			// members that are not statements (e.g., forward and reverse relations) are in the snapshots too
+			var ontology = getOntology(notification.getNotifier());
+			if (ontology != null) {
+				snapshots.values().removeIf(s -> s.ontologies().contains(ontology));
+			} else {
+				clear();
+			}
+		}
+	}
+
+	private static Ontology getOntology(Object notifier) {
+		var object = (notifier instanceof EObject) ? (EObject) notifier : null;
+		while (object != null && !(object instanceof Ontology)) {
+			object = object.eContainer();
+		}
+		return (Ontology) object;
+	}
+
+	@Override
+	public synchronized void clear() {
+		generation++;
+		snapshots.clear();
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "ImportClosureCache [size=" + snapshots.size() + "]";
+	}
+
+}
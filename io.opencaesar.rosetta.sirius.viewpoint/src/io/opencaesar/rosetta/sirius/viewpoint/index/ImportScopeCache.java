@@ -0,0 +1,139 @@
+/**
+ * 
+ * Copyright 2019-2021 California Institute of Technology ("Caltech").
+ * U.S. Government sponsorship acknowledged.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package io.opencaesar.rosetta.sirius.viewpoint.index;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+
+import io.opencaesar.oml.Ontology;
+import io.opencaesar.oml.util.OmlRead;
+
+/**
+ * A cache of the import scopes of the ontologies in a resource set
+ */
+public final class ImportScopeCache extends OmlIndex {
+
+	private final Map<Ontology, Set<Resource>> scopes = new ConcurrentHashMap<>();
+
+	private long generation;
+
+	private final AtomicLong hitCount = new AtomicLong();
+
+	private final AtomicLong missCount = new AtomicLong();
+
+	/**
+	 * Gets the import scope cache of the given resource set
+	 * 
+	 * @param resourceSet The given resource set
+	 * @return The import scope cache of the resource set
+	 */
+	public static ImportScopeCache get(ResourceSet resourceSet) {
+		return OmlIndexAdapter.getIndex(resourceSet, ImportScopeCache.class, r -> new ImportScopeCache());
+	}
+
+	/**
+	 * Gets the import scope cache of the resource set of the given object
+	 * 
+	 * @param object The given object
+	 * @return The import scope cache of the resource set, or null if the object is not in a resource set
+	 */
+	public static ImportScopeCache get(EObject object) {
+		return OmlIndexAdapter.getIndex(object, ImportScopeCache.class, r -> new ImportScopeCache());
+	}
+
+	/**
+	 * Gets the (unmodifiable) import scope of the given ontology
+	 * 
+	 * @param ontology The given ontology
+	 * @return The set of resources in the import scope of the ontology
+	 */
+	public Set<Resource> getScope(Ontology ontology) {
+		var scope = scopes.get(ontology);
+		if (scope != null) {
+			hitCount.incrementAndGet();
+			return scope;
+		}
+		missCount.incrementAndGet();
+		long startGeneration;
+		synchronized (this) {
+			startGeneration = generation;
+		}
+		// computed outside of the lock since computing the scope can load resources (and clear the cache)
+		scope = Collections.unmodifiableSet(OmlRead.getImportScope(ontology));
+		synchronized (this) {
+			if (generation == startGeneration) {
+				scopes.put(ontology, scope);
+			}
+		}
+		return scope;
+	}
+
+	/**
+	 * Gets the number of scope requests that were answered from the cache
+	 * 
+	 * @return The number of cache hits
+	 */
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	/**
+	 * Gets the number of scope requests that had to compute the scope
+	 * 
+	 * @return The number of cache misses
+	 */
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	/**
+	 * Resets the hit and miss counters of the cache
+	 */
+	public void resetStatistics() {
+		hitCount.set(0);
+		missCount.set(0);
+	}
+
+	@Override
+	protected void notifyChanged(Notification notification) {
+		if (isResourceChange(notification) || isImportChange(notification)) {
+			clear();
+		}
+	}
+
+	@Override
+	public synchronized void clear() {
+		generation++;
+		scopes.clear();
+	}
+
+	@Override
+	public String toString() {
+		return "ImportScopeCache [size=" + scopes.size() + ", hits=" + hitCount + ", misses=" + missCount + "]";
+	}
+
+}
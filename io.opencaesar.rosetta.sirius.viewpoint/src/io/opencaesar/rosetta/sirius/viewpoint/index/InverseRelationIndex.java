@@ -0,0 +1,247 @@
+/**
+ * 
+ * Copyright 2019-2021 California Institute of Technology ("Caltech").
+ * U.S. Government sponsorship acknowledged.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package io.opencaesar.rosetta.sirius.viewpoint.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+
+import io.opencaesar.oml.Instance;
+import io.opencaesar.oml.NamedInstance;
+import io.opencaesar.oml.Ontology;
+import io.opencaesar.oml.PropertyValueAssertion;
+import io.opencaesar.oml.Relation;
+
+/**
+ * An index of the links that point at named instances in a resource set
+ */
+public final class InverseRelationIndex extends OmlIndex {
+
+	/**
+	 * A link from a source instance to a target named instance asserted by a property value assertion
+	 */
+	public static final class Link {
+
+		private final Relation relation;
+
+		private final Instance source;
+
+		private final PropertyValueAssertion assertion;
+
+		private Link(Relation relation, Instance source, PropertyValueAssertion assertion) {
+			this.relation = relation;
+			this.source = source;
+			this.assertion = assertion;
+		}
+
+		/**
+		 * @return The relation of the link
+		 */
+		public Relation getRelation() {
+			return relation;
+		}
+
+		/**
+		 * @return The source instance of the link
+		 */
+		public Instance getSource() {
+			return source;
+		}
+
+		/**
+		 * @return The property value assertion that asserts the link
+		 */
+		public PropertyValueAssertion getAssertion() {
+			return assertion;
+		}
+	}
+
+	private final ResourceSet resourceSet;
+
+	private final Map<NamedInstance, List<Link>> incomingLinks = new HashMap<>();
+
+	private final Map<EObject, List<NamedInstance>> indexedTargets = new HashMap<>();
+
+	private boolean built;
+
+	private InverseRelationIndex(ResourceSet resourceSet) {
+		this.resourceSet = resourceSet;
+	}
+
+	/**
+	 * Gets the inverse relation index of the resource set of the given object
+	 * 
+	 * @param object The given object
+	 * @return The inverse relation index of the resource set, or null if the object is not in a resource set
+	 */
+	public static InverseRelationIndex get(EObject object) {
+		return OmlIndexAdapter.getIndex(object, InverseRelationIndex.class, InverseRelationIndex::new);
+	}
+
+	/**
+	 * Gets the links that point at the given target instance from assertions in the given scope
+	 * 
+	 * @param target The given target instance
+	 * @param scope The given scope of resources (or null to consider the whole resource set)
+	 * @return A list of links
+	 */
+	public synchronized List<Link> getIncomingLinks(NamedInstance target, Set<Resource> scope) {
+		ensureBuilt();
+		var links = incomingLinks.getOrDefault(target, Collections.emptyList());
+		var result = new ArrayList<Link>(links.size());
+		for (Link link : links) {
+			if (scope == null || scope.contains(link.assertion.eResource())) {
+				result.add(link);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the source instances that are linked to the given target instance by the given relation in
+	 * property value assertions in the given scope
+	 * 
+	 * @param target The given target instance
+	 * @param relation The given relation
+	 * @param scope The given scope of resources (or null to consider the whole resource set)
+	 * @return A set of source instances
+	 */
+	public synchronized Set<Instance> getSources(NamedInstance target, Relation relation, Set<Resource> scope) {
+		ensureBuilt();
+		var sources = new LinkedHashSet<Instance>();
+		for (Link link : incomingLinks.getOrDefault(target, Collections.emptyList())) {
+			if (link.relation == relation && (scope == null || scope.contains(link.assertion.eResource()))) {
+				sources.add(link.source);
+			}
+		}
+		return sources;
+	}
+
+	@Override
+	protected synchronized void notifyChanged(Notification notification) {
+		if (!built) {
+			return;
+		}
+		if (isResourceChange(notification)) {
+			clear();
+			return;
+		}
+		var notifier = notification.getNotifier();
+		var feature = notification.getFeature();
+		if (feature instanceof EReference && ((EReference) feature).isContainment()) {
+			forEachObject(notification.getOldValue(), o -> unindexTree(o));
+			forEachObject(notification.getNewValue(), o -> indexTree(o));
+		} else if (notifier instanceof PropertyValueAssertion) {
+			unindex((EObject) notifier);
+			index((EObject) notifier);
+		}
+	}
+
+	@Override
+	public synchronized void clear() {
+		incomingLinks.clear();
+		indexedTargets.clear();
+		built = false;
+	}
+
+	private void ensureBuilt() {
+		if (!built) {
+			incomingLinks.clear();
+			indexedTargets.clear();
+			built = true;
+			for (Resource resource : new ArrayList<>(resourceSet.getResources())) {
+				if (!resource.getContents().isEmpty() && resource.getContents().get(0) instanceof Ontology) {
+					resource.getAllContents().forEachRemaining(o -> index(o));
+				}
+			}
+		}
+	}
+
+	private void indexTree(EObject root) {
+		index(root);
+		root.eAllContents().forEachRemaining(o -> index(o));
+	}
+
+	private void unindexTree(EObject root) {
+		unindex(root);
+		root.eAllContents().forEachRemaining(o -> unindex(o));
+	}
+
+	private void index(EObject object) {
+		if (object instanceof PropertyValueAssertion) {
+			var assertion = (PropertyValueAssertion) object;
+			if (assertion.getProperty() instanceof Relation && assertion.eContainer() instanceof Instance) {
+				var relation = (Relation) assertion.getProperty();
+				var source = (Instance) assertion.eContainer();
+				if (source instanceof NamedInstance) {
+					source = (Instance) ((NamedInstance) source).resolve();
+				}
+				var targets = new ArrayList<NamedInstance>();
+				for (Object value : assertion.getValues()) {
+					if (value instanceof NamedInstance) {
+						var target = (NamedInstance) value;
+						incomingLinks.computeIfAbsent(target, k -> new ArrayList<>()).add(new Link(relation, source, assertion));
+						targets.add(target);
+					}
+				}
+				indexedTargets.put(assertion, targets);
+			}
+		}
+	}
+
+	private void unindex(EObject object) {
+		var targets = indexedTargets.remove(object);
+		if (targets != null) {
+			for (NamedInstance target : targets) {
+				var links = incomingLinks.get(target);
+				if (links != null) {
+					links.removeIf(l -> l.assertion == object);
+					if (links.isEmpty()) {
+						incomingLinks.remove(target);
+					}
+				}
+			}
+		}
+	}
+
+	private static void forEachObject(Object value, Consumer<EObject> consumer) {
+		if (value instanceof EObject) {
+			consumer.accept((EObject) value);
+		} else if (value instanceof Collection<?>) {
+			for (Object v : (Collection<?>) value) {
+				if (v instanceof EObject) {
+					consumer.accept((EObject) v);
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,520 @@
+/**
+ * 
+ * Copyright 2019-2021 California Institute of Technology ("Caltech").
+ * U.S. Government sponsorship acknowledged.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package io.opencaesar.rosetta.sirius.viewpoint.index;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.w3c.dom.Element;
+
+import io.opencaesar.oml.util.OmlConstants;
+import io.opencaesar.rosetta.sirius.viewpoint.Activator;
+
+/**
+ * An index of the iris of the ontologies and members declared in the OML files of the workspace
+ */
+public final class IriCatalogIndex implements IResourceChangeListener {
+
+	/**
+	 * The location of a member declaration in the workspace
+	 */
+	public static final class Location {
+
+		private final IFile file;
+
+		private final String kind;
+
+		private Location(IFile file, String kind) {
+			this.file = file;
+			this.kind = kind;
+		}
+
+		/**
+		 * @return The OML file that declares the member
+		 */
+		public IFile getFile() {
+			return file;
+		}
+
+		/**
+		 * @return The kind of the member (its declaration keyword, e.g., "concept" or "relation entity"), or null
+		 * if the members of the file are unknown (the file is not textual or is not scanned yet)
+		 */
+		public String getKind() {
+			return kind;
+		}
+	}
+
+	private static final String CATALOG = "catalog.xml";
+
+	private static final String STATE_FILE = "iri-catalog.txt";
+
+	private static final Pattern HEADER = Pattern.compile("^\\s*(?:vocabulary|description)(?:\\s+bundle)?\\s+<([^>]+)>");
+
+	private static final Pattern NAMESPACE = Pattern.compile("\\bnamespace\\s*[=:]\\s*\"([^\"]+)\"");
+
+	private static final Pattern MEMBER = Pattern.compile("^\\s*(aspect|concept|relation\\s+entity|relation\\s+instance|relation|scalar\\s+property|annotation\\s+property|scalar|rule|builtin|instance|forward|reverse)\\s+([A-Za-z_][\\w.\\-]*)");
+
+	private static IriCatalogIndex instance;
+
+	private final Map<IProject, List<Rule>> rules = new ConcurrentHashMap<>();
+
+	private final Map<IFile, FileEntry> files = new ConcurrentHashMap<>();
+
+	private final Map<String, IFile> namespaces = new ConcurrentHashMap<>();
+
+	private final Set<IResource> dirty = Collections.synchronizedSet(new LinkedHashSet<>());
+
+	private final Job job = new IndexJob();
+
+	private volatile boolean complete;
+
+	private boolean loaded;
+
+	private IriCatalogIndex() {
+	}
+
+	/**
+	 * Gets the workspace iri catalog index (starting it if needed)
+	 * 
+	 * @return The iri catalog index
+	 */
+	public static synchronized IriCatalogIndex getInstance() {
+		if (instance == null) {
+			instance = new IriCatalogIndex();
+			instance.start();
+		}
+		return instance;
+	}
+
+	/**
+	 * Stops the workspace iri catalog index (if started) and saves its state
+	 */
+	public static synchronized void dispose() {
+		if (instance != null) {
+			instance.stop();
+			instance = null;
+		}
+	}
+
+	/**
+	 * Checks whether the index has scanned all the OML files of the workspace (and has no pending changes)
+	 * 
+	 * @return true if the index is complete; otherwise false
+	 */
+	public boolean isComplete() {
+		return complete;
+	}
+
+	/**
+	 * Finds the location of the member with the given iri
+	 * 
+	 * @param iri The given iri
+	 * @return The location of the member, or null if the index does not know such a member
+	 */
+	public Location find(String iri) {
+		var i = Math.max(iri.lastIndexOf('#'), iri.lastIndexOf('/'));
+		if (i < 0) {
+			return null;
+		}
+		var namespace = iri.substring(0, i + 1);
+		var name = iri.substring(i + 1);
+		var file = namespaces.get(namespace);
+		if (file == null && !complete) {
+			// the file may not have been scanned yet but the catalog tells where it should be
+			file = findByCatalog(namespace);
+			if (file != null) {
+				// the file is scanned by the job, not on the caller's thread, so it may declare the member
+				markDirty(file);
+				job.schedule(200);
+				return new Location(file, null);
+			}
+		}
+		var entry = (file != null) ? files.get(file) : null;
+		if (entry != null && !isTextual(file)) {
+			// the members of a non textual file are not scanned so it may declare the member
+			return new Location(file, null);
+		}
+		var kind = (entry != null) ? entry.members.get(name) : null;
+		return (kind != null) ? new Location(file, kind) : null;
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		var delta = event.getDelta();
+		if (delta == null) {
+			return;
+		}
+		try {
+			delta.accept(d -> {
+				var resource = d.getResource();
+				if (resource instanceof IProject) {
+					if ((d.getFlags() & IResourceDelta.OPEN) != 0 || d.getKind() != IResourceDelta.CHANGED) {
+						markDirty(resource);
+						return false;
+					}
+				} else if (resource instanceof IFile) {
+					if (CATALOG.equals(resource.getName()) && resource.getParent() instanceof IProject) {
+						markDirty(resource.getProject());
+					} else if (isOmlFile(resource)) {
+						markDirty(resource);
+					}
+				}
+				return true;
+			});
+		} catch (CoreException e) {
+			Activator.getDefault().getLog().log(e.getStatus());
+		}
+		if (!dirty.isEmpty()) {
+			job.schedule(200);
+		}
+	}
+
+	private void start() {
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+		markDirty(ResourcesPlugin.getWorkspace().getRoot());
+		job.schedule();
+	}
+
+	private void stop() {
+		ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
+		job.cancel();
+		save();
+	}
+
+	private void markDirty(IResource resource) {
+		complete = false;
+		dirty.add(resource);
+	}
+
+	private void update(IProgressMonitor monitor) {
+		if (!loaded) {
+			// the saved state is read by the job, not on the thread that first gets the index
+			loaded = true;
+			load();
+		}
+		while (!dirty.isEmpty() && !monitor.isCanceled()) {
+			List<IResource> resources;
+			synchronized (dirty) {
+				resources = new ArrayList<>(dirty);
+				dirty.clear();
+			}
+			for (IResource resource : resources) {
+				if (monitor.isCanceled()) {
+					dirty.add(resource);
+					return;
+				}
+				if (resource.getType() == IResource.ROOT) {
+					files.keySet().stream()
+						.filter(f -> !f.getProject().exists())
+						.collect(Collectors.toList())
+						.forEach(f -> remove(f));
+					for (IProject project : ResourcesPlugin.getWorkspace().getRoot().getProjects()) {
+						updateProject(project);
+					}
+				} else if (resource instanceof IProject) {
+					updateProject((IProject) resource);
+				} else if (resource instanceof IFile) {
+					var file = (IFile) resource;
+					if (file.exists() && isInRuleFolder(file)) {
+						scan(file);
+					} else {
+						remove(file);
+					}
+				}
+			}
+		}
+		if (dirty.isEmpty() && !monitor.isCanceled()) {
+			complete = true;
+			save();
+		}
+	}
+
+	private void updateProject(IProject project) {
+		rules.remove(project);
+		var scanned = new HashSet<IFile>();
+		if (project.isAccessible()) {
+			var projectRules = readRules(project);
+			rules.put(project, projectRules);
+			for (Rule rule : projectRules) {
+				try {
+					if (rule.folder.exists()) {
+						rule.folder.accept(r -> {
+							if (r instanceof IFile && isOmlFile(r)) {
+								scan((IFile) r);
+								scanned.add((IFile) r);
+							}
+							return true;
+						});
+					}
+				} catch (CoreException e) {
+					Activator.getDefault().getLog().log(e.getStatus());
+				}
+			}
+		}
+		files.keySet().stream()
+			.filter(f -> f.getProject().equals(project) && !scanned.contains(f))
+			.collect(Collectors.toList())
+			.forEach(f -> remove(f));
+	}
+
+	private List<Rule> readRules(IProject project) {
+		var catalog = project.getFile(CATALOG);
+		var result = new ArrayList<Rule>();
+		if (!catalog.exists()) {
+			return result;
+		}
+		try (InputStream input = catalog.getContents(true)) {
+			var factory = DocumentBuilderFactory.newInstance();
+			factory.setNamespaceAware(true);
+			factory.setAttribute(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+			factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+			var document = factory.newDocumentBuilder().parse(input);
+			var elements = document.getElementsByTagNameNS("*", "rewriteURI");
+			for (int i = 0; i < elements.getLength(); i++) {
+				var element = (Element) elements.item(i);
+				var start = element.getAttribute("uriStartString");
+				var prefix = element.getAttribute("rewritePrefix");
+				if (!start.isEmpty() && !prefix.isEmpty() && !prefix.contains(":")) {
+					var path = new Path(prefix);
+					IContainer folder = path.isEmpty() ? project : project.getFolder(path);
+					result.add(new Rule(start, folder));
+				}
+			}
+		} catch (Exception e) {
+			Activator.getDefault().getLog().log(new Status(IStatus.WARNING, Activator.PLUGIN_ID, "Could not read " + catalog.getFullPath(), e));
+		}
+		return result;
+	}
+
+	private boolean isInRuleFolder(IFile file) {
+		var projectRules = rules.get(file.getProject());
+		return projectRules != null && projectRules.stream().anyMatch(r -> r.folder.getFullPath().isPrefixOf(file.getFullPath()));
+	}
+
+	private IFile findByCatalog(String namespace) {
+		var ontologyIri = namespace.substring(0, namespace.length() - 1);
+		for (List<Rule> projectRules : rules.values()) {
+			for (Rule rule : projectRules) {
+				if (ontologyIri.startsWith(rule.uriStartString)) {
+					for (String extension : OmlConstants.OML_EXTENSION_LIST) {
+						var file = rule.folder.getFile(new Path(ontologyIri.substring(rule.uriStartString.length()) + "." + extension));
+						if (file.exists()) {
+							return file;
+						}
+					}
+				}
+			}
+		}
+		return null;
+	}
+
+	private void scan(IFile file) {
+		var old = files.get(file);
+		if (old != null && old.stamp == file.getModificationStamp()) {
+			return;
+		}
+		var entry = new FileEntry(file.getModificationStamp());
+		var textual = isTextual(file);
+		try (var reader = new BufferedReader(new InputStreamReader(file.getContents(true), StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (entry.namespace == null) {
+					var header = (textual ? HEADER : NAMESPACE).matcher(line);
+					if (header.find()) {
+						entry.namespace = header.group(1);
+						if (!textual) {
+							break;
+						}
+					}
+				} else {
+					var member = MEMBER.matcher(line);
+					if (member.find()) {
+						entry.members.putIfAbsent(member.group(2), member.group(1).replaceAll("\\s+", " "));
+					}
+				}
+			}
+		} catch (IOException | CoreException e) {
+			Activator.getDefault().getLog().log(new Status(IStatus.WARNING, Activator.PLUGIN_ID, "Could not scan " + file.getFullPath(), e));
+			return;
+		}
+		remove(file);
+		put(file, entry);
+	}
+
+	private static boolean isOmlFile(IResource resource) {
+		return OmlConstants.OML_EXTENSION_LIST.contains(resource.getFileExtension());
+	}
+
+	private static boolean isTextual(IFile file) {
+		return OmlConstants.OML_EXTENSION.equals(file.getFileExtension());
+	}
+
+	private void put(IFile file, FileEntry entry) {
+		files.put(file, entry);
+		if (entry.namespace != null) {
+			namespaces.put(entry.namespace, file);
+		}
+	}
+
+	private void remove(IFile file) {
+		var entry = files.remove(file);
+		if (entry != null && entry.namespace != null) {
+			namespaces.remove(entry.namespace, file);
+		}
+	}
+
+	private IPath getStateFile() {
+		return Activator.getDefault().getStateLocation().append(STATE_FILE);
+	}
+
+	private void load() {
+		var path = getStateFile().toFile().toPath();
+		if (!Files.exists(path)) {
+			return;
+		}
+		var root = ResourcesPlugin.getWorkspace().getRoot();
+		try (var reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+			IFile file = null;
+			FileEntry entry = null;
+			String line;
+			while ((line = reader.readLine()) != null) {
+				var fields = line.split("\t", -1);
+				if (fields.length == 4 && "F".equals(fields[0])) {
+					if (file != null) {
+						put(file, entry);
+					}
+					file = root.getFile(new Path(fields[1]));
+					entry = new FileEntry(Long.parseLong(fields[2]));
+					entry.namespace = fields[3].isEmpty() ? null : fields[3];
+				} else if (fields.length == 3 && "M".equals(fields[0]) && entry != null) {
+					entry.members.put(fields[1], fields[2]);
+				}
+			}
+			if (file != null) {
+				put(file, entry);
+			}
+		} catch (IOException | RuntimeException e) {
+			// the state is only a cache so the index is simply rebuilt
+			files.clear();
+			namespaces.clear();
+		}
+	}
+
+	private void save() {
+		var path = getStateFile().toFile().toPath();
+		try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+			for (Map.Entry<IFile, FileEntry> e : new HashMap<>(files).entrySet()) {
+				var entry = e.getValue();
+				writer.write("F\t" + e.getKey().getFullPath() + "\t" + entry.stamp + "\t" + (entry.namespace != null ? entry.namespace : ""));
+				writer.newLine();
+				for (Map.Entry<String, String> m : entry.members.entrySet()) {
+					writer.write("M\t" + m.getKey() + "\t" + m.getValue());
+					writer.newLine();
+				}
+			}
+		} catch (IOException e) {
+			Activator.getDefault().getLog().log(new Status(IStatus.WARNING, Activator.PLUGIN_ID, "Could not save the IRI catalog index", e));
+		}
+	}
+
+	/**
+	 * A rewriteURI rule of a catalog
+	 */
+	private static class Rule {
+
+		private final String uriStartString;
+
+		private final IContainer folder;
+
+		private Rule(String uriStartString, IContainer folder) {
+			this.uriStartString = uriStartString;
+			this.folder = folder;
+		}
+	}
+
+	/**
+	 * The scanned namespace and members of an OML file
+	 */
+	private static class FileEntry {
+
+		private final long stamp;
+
+		private String namespace;
+
+		private final Map<String, String> members = new HashMap<>();
+
+		private FileEntry(long stamp) {
+			this.stamp = stamp;
+		}
+	}
+
+	/**
+	 * The background job that scans the changed projects and files
+	 */
+	private class IndexJob extends Job {
+
+		private IndexJob() {
+			super("Indexing OML IRIs");
+			setSystem(true);
+			setPriority(Job.DECORATE);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			update(monitor);
+			return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+		}
+	}
+
+}
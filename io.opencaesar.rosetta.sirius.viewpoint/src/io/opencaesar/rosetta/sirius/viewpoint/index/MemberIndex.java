@@ -0,0 +1,212 @@
+/**
+ * 
+ * Copyright 2019-2021 California Institute of Technology ("Caltech").
+ * U.S. Government sponsorship acknowledged.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package io.opencaesar.rosetta.sirius.viewpoint.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+
+import io.opencaesar.oml.IdentifiedElement;
+import io.opencaesar.oml.Member;
+import io.opencaesar.oml.Ontology;
+import io.opencaesar.oml.util.OmlRead;
+
+/**
+ * An index of the ontologies loaded in a resource set and of their members
+ */
+public final class MemberIndex extends OmlIndex {
+
+	/**
+	 * A listener to the identified elements that are added to or removed from a member index
+	 */
+	public interface Listener {
+
+		/**
+		 * Called when identified elements (ontologies or members) are added to the index
+		 * 
+		 * @param elements The added elements
+		 */
+		void elementsAdded(Collection<IdentifiedElement> elements);
+
+		/**
+		 * Called when identified elements (ontologies or members) are removed from the index
+		 * 
+		 * @param elements The removed elements
+		 */
+		void elementsRemoved(Collection<IdentifiedElement> elements);
+	}
+
+	private final ResourceSet resourceSet;
+
+	private final Map<Ontology, List<Member>> members = new LinkedHashMap<>();
+
+	private final Set<IdentifiedElement> elements = ConcurrentHashMap.newKeySet();
+
+	private final Set<Ontology> dirtyOntologies = new HashSet<>();
+
+	private boolean ontologiesDirty = true;
+
+	private final Set<Listener> listeners = Collections.newSetFromMap(new WeakHashMap<>());
+
+	private MemberIndex(ResourceSet resourceSet) {
+		this.resourceSet = resourceSet;
+	}
+
+	/**
+	 * Gets the member index of the resource set of the given object
+	 * 
+	 * @param object The given object
+	 * @return The member index of the resource set, or null if the object is not in a resource set
+	 */
+	public static MemberIndex get(EObject object) {
+		return OmlIndexAdapter.getIndex(object, MemberIndex.class, MemberIndex::new);
+	}
+
+	/**
+	 * Registers the given listener (weakly) and gives it the elements currently in the index
+	 * 
+	 * @param listener The given listener
+	 */
+	public synchronized void addListener(Listener listener) {
+		sync();
+		if (listeners.add(listener)) {
+			listener.elementsAdded(getElements());
+		}
+	}
+
+	/**
+	 * Unregisters the given listener
+	 * 
+	 * @param listener The given listener
+	 */
+	public synchronized void removeListener(Listener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * Checks whether the given element is an ontology or a member in the index (as of the last sync)
+	 * 
+	 * @param element The given element
+	 * @return true if the element is in the index; otherwise false
+	 */
+	public boolean contains(IdentifiedElement element) {
+		return elements.contains(element);
+	}
+
+	/**
+	 * Gets the ontologies and their members in the index (as of the last sync) ordered by ontology
+	 * 
+	 * @return A list of identified elements
+	 */
+	public synchronized List<IdentifiedElement> getElements() {
+		var result = new ArrayList<IdentifiedElement>(elements.size());
+		members.forEach((o, m) -> {
+			result.add(o);
+			result.addAll(m);
+		});
+		return result;
+	}
+
+	/**
+	 * Applies the changes notified since the last sync and reports them to the listeners
+	 */
+	public synchronized void sync() {
+		var added = new LinkedHashSet<IdentifiedElement>();
+		var removed = new LinkedHashSet<IdentifiedElement>();
+		if (ontologiesDirty) {
+			ontologiesDirty = false;
+			var loaded = new LinkedHashSet<>(OmlRead.getOntologies(resourceSet));
+			for (Ontology ontology : new ArrayList<>(members.keySet())) {
+				if (!loaded.contains(ontology)) {
+					removed.add(ontology);
+					removed.addAll(members.remove(ontology));
+				}
+			}
+			for (Ontology ontology : loaded) {
+				if (!members.containsKey(ontology)) {
+					added.add(ontology);
+					members.put(ontology, Collections.emptyList());
+					dirtyOntologies.add(ontology);
+				}
+			}
+		}
+		// copied since computing the members can load resources (and notify more changes)
+		var ontologies = new ArrayList<>(dirtyOntologies);
+		dirtyOntologies.clear();
+		for (Ontology ontology : ontologies) {
+			var oldMembers = members.get(ontology);
+			if (oldMembers != null) {
+				var newMembers = OmlRead.getMembers(ontology);
+				var newSet = new HashSet<>(newMembers);
+				var oldSet = new HashSet<>(oldMembers);
+				oldMembers.stream().filter(m -> !newSet.contains(m)).forEach(m -> removed.add(m));
+				newMembers.stream().filter(m -> !oldSet.contains(m)).forEach(m -> added.add(m));
+				members.put(ontology, new ArrayList<>(newMembers));
+			}
+		}
+		// an element that moved between ontologies is both removed and added
+		var moved = new HashSet<>(removed);
+		moved.retainAll(added);
+		removed.removeAll(moved);
+		added.removeAll(moved);
+		elements.removeAll(removed);
+		elements.addAll(added);
+		if (!removed.isEmpty()) {
+			listeners.forEach(l -> l.elementsRemoved(removed));
+		}
+		if (!added.isEmpty()) {
+			listeners.forEach(l -> l.elementsAdded(added));
+		}
+	}
+
+	@Override
+	protected synchronized void notifyChanged(Notification notification) {
+		if (isResourceChange(notification)) {
+			ontologiesDirty = true;
+		} else if (notification.getFeature() instanceof EReference && ((EReference) notification.getFeature()).isContainment()) {
+			EObject object = (notification.getNotifier() instanceof EObject) ? (EObject) notification.getNotifier() : null;
+			while (object != null && !(object instanceof Ontology)) {
+				object = object.eContainer();
+			}
+			if (object != null) {
+				dirtyOntologies.add((Ontology) object);
+			}
+		}
+	}
+
+	@Override
+	public synchronized void clear() {
+		ontologiesDirty = true;
+		dirtyOntologies.addAll(members.keySet());
+	}
+
+}
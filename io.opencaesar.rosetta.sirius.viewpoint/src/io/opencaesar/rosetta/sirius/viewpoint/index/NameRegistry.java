@@ -0,0 +1,189 @@
+/**
+ * 
+ * Copyright 2019-2021 California Institute of Technology ("Caltech").
+ * U.S. Government sponsorship acknowledged.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package io.opencaesar.rosetta.sirius.viewpoint.index;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+
+import io.opencaesar.oml.Member;
+import io.opencaesar.oml.Ontology;
+
+/**
+ * A registry of the member names used in the ontologies of a resource set
+ */
+public final class NameRegistry extends OmlIndex {
+
+	private final Map<Ontology, Names> names = new ConcurrentHashMap<>();
+
+	/**
+	 * Gets the name registry of the resource set of the given object
+	 * 
+	 * @param object The given object
+	 * @return The name registry of the resource set, or null if the object is not in a resource set
+	 */
+	public static NameRegistry get(EObject object) {
+		return OmlIndexAdapter.getIndex(object, NameRegistry.class, r -> new NameRegistry());
+	}
+
+	/**
+	 * Gets a name that is not used by any member of the given ontology, derived from the given base name
+	 * 
+	 * @param ontology The given ontology
+	 * @param base The given base name
+	 * @return A free name derived from the base name
+	 */
+	public String getFreeName(Ontology ontology, String base) {
+		return names.computeIfAbsent(ontology, o -> new Names(o)).allocate(base);
+	}
+
+	/**
+	 * Checks whether the given name is used by a member of the given ontology
+	 * 
+	 * @param ontology The given ontology
+	 * @param name The given name
+	 * @return true if the name is used; otherwise false
+	 */
+	public boolean isUsed(Ontology ontology, String name) {
+		return names.computeIfAbsent(ontology, o -> new Names(o)).isUsed(name);
+	}
+
+	@Override
+	protected void notifyChanged(Notification notification) {
+		if (isResourceChange(notification)) {
+			clear();
+			return;
+		}
+		if (!(notification.getNotifier() instanceof EObject)) {
+			return;
+		}
+		var ontology = getOntology((EObject) notification.getNotifier());
+		var entry = (ontology != null) ? names.get(ontology) : null;
+		if (entry == null) {
+			return;
+		}
+		var feature = notification.getFeature();
+		if (notification.getNotifier() instanceof Member && feature instanceof EAttribute && "name".equals(((EAttribute) feature).getName())) {
+			entry.remove((String) notification.getOldValue());
+			entry.add((String) notification.getNewValue());
+		} else if (feature instanceof EReference && ((EReference) feature).isContainment()) {
+			forEachMember(notification.getOldValue(), m -> entry.remove(m.getName()));
+			forEachMember(notification.getNewValue(), m -> entry.add(m.getName()));
+		}
+	}
+
+	@Override
+	public void clear() {
+		names.clear();
+	}
+
+	private static Ontology getOntology(EObject object) {
+		while (object != null && !(object instanceof Ontology)) {
+			object = object.eContainer();
+		}
+		return (Ontology) object;
+	}
+
+	private static void forEachMember(Object value, Consumer<Member> consumer) {
+		if (value instanceof Collection<?>) {
+			((Collection<?>) value).forEach(v -> forEachMember(v, consumer));
+		} else if (value instanceof EObject) {
+			if (value instanceof Member) {
+				consumer.accept((Member) value);
+			}
+			((EObject) value).eAllContents().forEachRemaining(o -> {
+				if (o instanceof Member) {
+					consumer.accept((Member) o);
+				}
+			});
+		}
+	}
+
+	/**
+	 * The used names and suffix counters of an ontology
+	 */
+	private static class Names {
+
+		private final Map<String, Integer> used = new HashMap<>();
+
+		private final Map<String, Integer> nextSuffixes = new HashMap<>();
+
+		private Names(Ontology ontology) {
+			ontology.eAllContents().forEachRemaining(o -> {
+				if (o instanceof Member) {
+					add(((Member) o).getName());
+				}
+			});
+		}
+
+		private synchronized boolean isUsed(String name) {
+			return used.containsKey(name);
+		}
+
+		private synchronized String allocate(String base) {
+			int suffix = nextSuffixes.getOrDefault(base, 0);
+			var name = getName(base, suffix);
+			while (used.containsKey(name)) {
+				name = getName(base, ++suffix);
+			}
+			nextSuffixes.put(base, suffix);
+			return name;
+		}
+
+		private synchronized void add(String name) {
+			if (name != null) {
+				used.merge(name, 1, Integer::sum);
+			}
+		}
+
+		private synchronized void remove(String name) {
+			if (name == null || !used.containsKey(name)) {
+				return;
+			}
+			if (used.merge(name, -1, Integer::sum) > 0) {
+				return;
+			}
+			used.remove(name);
+			// the name may have been allocated from any base obtained by splitting off a numeric suffix
+			nextSuffixes.computeIfPresent(name, (b, s) -> 0);
+			for (int i = name.length() - 1; i > 0 && Character.isDigit(name.charAt(i)); i--) {
+				if (name.charAt(i) != '0') {
+					try {
+						int suffix = Integer.parseInt(name.substring(i));
+						nextSuffixes.computeIfPresent(name.substring(0, i), (b, s) -> Math.min(s, suffix));
+					} catch (NumberFormatException e) {
+						// the suffix is too large to have been allocated
+					}
+				}
+			}
+		}
+
+		private static String getName(String base, int suffix) {
+			return (suffix == 0) ? base : base + suffix;
+		}
+	}
+
+}
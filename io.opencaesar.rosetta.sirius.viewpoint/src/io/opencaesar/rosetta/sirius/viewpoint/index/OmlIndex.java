@@ -0,0 +1,102 @@
+/**
+ * 
+ * Copyright 2019-2021 California Institute of Technology ("Caltech").
+ * U.S. Government sponsorship acknowledged.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package io.opencaesar.rosetta.sirius.viewpoint.index;
+
+import java.util.Collection;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+
+import io.opencaesar.oml.Import;
+import io.opencaesar.oml.Ontology;
+
+/**
+ * The base class of indexes maintained on the OML models of a resource set by an {@link OmlIndexAdapter}
+ */
+public abstract class OmlIndex {
+
+	/**
+	 * Updates (or invalidates) the index in response to a change in the resource set
+	 * 
+	 * @param notification The notification of the change
+	 */
+	protected abstract void notifyChanged(Notification notification);
+
+	/**
+	 * Clears the index so it gets recomputed on next use
+	 */
+	public abstract void clear();
+
+	/**
+	 * Checks whether the given notification adds, removes, loads or unloads a resource
+	 * 
+	 * @param notification The given notification
+	 * @return true if the notification changes the resources of the resource set; otherwise false
+	 */
+	protected static boolean isResourceChange(Notification notification) {
+		var notifier = notification.getNotifier();
+		if (notifier instanceof ResourceSet) {
+			return notification.getFeatureID(ResourceSet.class) == ResourceSet.RESOURCE_SET__RESOURCES;
+		} else if (notifier instanceof Resource) {
+			var featureId = notification.getFeatureID(Resource.class);
+			return featureId == Resource.RESOURCE__CONTENTS || featureId == Resource.RESOURCE__IS_LOADED;
+		}
+		return false;
+	}
+
+	/**
+	 * Checks whether the given notification adds, removes or changes an import, or changes the
+	 * namespace or prefix of an ontology
+	 * 
+	 * @param notification The given notification
+	 * @return true if the notification changes the imports of an ontology; otherwise false
+	 */
+	protected static boolean isImportChange(Notification notification) {
+		var notifier = notification.getNotifier();
+		if (notifier instanceof Import) {
+			return true;
+		} else if (notifier instanceof Ontology) {
+			return notification.getFeature() instanceof EAttribute || isValueOfType(notification, Import.class);
+		}
+		return false;
+	}
+
+	/**
+	 * Checks whether the new or old value of the given notification is of the given type
+	 * 
+	 * @param notification The given notification
+	 * @param type The given type
+	 * @return true if the new or old value (or one of their elements) is of the type; otherwise false
+	 */
+	protected static boolean isValueOfType(Notification notification, Class<?> type) {
+		return isOfType(notification.getNewValue(), type) || isOfType(notification.getOldValue(), type);
+	}
+
+	private static boolean isOfType(Object value, Class<?> type) {
+		if (type.isInstance(value)) {
+			return true;
+		} else if (value instanceof Collection<?>) {
+			return ((Collection<?>) value).stream().anyMatch(v -> type.isInstance(v));
+		}
+		return false;
+	}
+
+}
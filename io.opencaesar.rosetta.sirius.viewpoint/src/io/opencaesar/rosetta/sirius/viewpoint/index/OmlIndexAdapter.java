@@ -0,0 +1,150 @@
+/**
+ * 
+ * Copyright 2019-2021 California Institute of Technology ("Caltech").
+ * U.S. Government sponsorship acknowledged.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package io.opencaesar.rosetta.sirius.viewpoint.index;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EContentAdapter;
+
+import io.opencaesar.oml.util.OmlConstants;
+
+/**
+ * A content adapter installed on a resource set that owns the indexes maintained on its OML models.
+ */
+public final class OmlIndexAdapter extends EContentAdapter {
+
+	/**
+	 * The indexes maintained by this adapter keyed by their type
+	 */
+	private final Map<Class<? extends OmlIndex>, OmlIndex> indexes = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a new index adapter
+	 */
+	private OmlIndexAdapter() {
+	}
+
+	/**
+	 * Gets the index adapter of the given resource set (installing a new one if needed)
+	 * 
+	 * @param resourceSet The given resource set
+	 * @return The index adapter of the resource set
+	 */
+	public static OmlIndexAdapter get(ResourceSet resourceSet) {
+		synchronized (resourceSet.eAdapters()) {
+			for (Adapter adapter : resourceSet.eAdapters()) {
+				if (adapter instanceof OmlIndexAdapter) {
+					return (OmlIndexAdapter) adapter;
+				}
+			}
+			var adapter = new OmlIndexAdapter();
+			resourceSet.eAdapters().add(adapter);
+			return adapter;
+		}
+	}
+
+	/**
+	 * Gets the index of the given type of the given resource set (creating a new one if needed)
+	 * 
+	 * @param <T> The type of index
+	 * @param resourceSet The given resource set
+	 * @param type The given type of index
+	 * @param factory The factory used to create a new index of that type for the resource set
+	 * @return The index of the given type
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T extends OmlIndex> T getIndex(ResourceSet resourceSet, Class<T> type, Function<ResourceSet, T> factory) {
+		return (T) get(resourceSet).indexes.computeIfAbsent(type, k -> factory.apply(resourceSet));
+	}
+
+	/**
+	 * Gets the index of the given type of the resource set of the given object (creating a new one if needed)
+	 * 
+	 * @param <T> The type of index
+	 * @param object The given object
+	 * @param type The given type of index
+	 * @param factory The factory used to create a new index of that type for the resource set
+	 * @return The index of the given type, or null if the object is not in a resource set
+	 */
+	public static <T extends OmlIndex> T getIndex(EObject object, Class<T> type, Function<ResourceSet, T> factory) {
+		Resource resource = (object != null) ? object.eResource() : null;
+		ResourceSet resourceSet = (resource != null) ? resource.getResourceSet() : null;
+		return (resourceSet != null) ? getIndex(resourceSet, type, factory) : null;
+	}
+
+	/**
+	 * Clears all the indexes maintained by this adapter
+	 */
+	public void clear() {
+		indexes.values().forEach(i -> i.clear());
+	}
+
+	@Override
+	public boolean isAdapterForType(Object type) {
+		return type == OmlIndexAdapter.class;
+	}
+
+	@Override
+	protected void addAdapter(Notifier notifier) {
+		if (!(notifier instanceof Resource) || isOmlResource(notifier)) {
+			super.addAdapter(notifier);
+		}
+	}
+
+	@Override
+	public void notifyChanged(Notification notification) {
+		super.notifyChanged(notification);
+		if (!notification.isTouch() && !isNonOmlResourceChange(notification)) {
+			for (OmlIndex index : indexes.values()) {
+				index.notifyChanged(notification);
+			}
+		}
+	}
+
+	private static boolean isOmlResource(Object object) {
+		var uri = ((Resource) object).getURI();
+		return uri != null && OmlConstants.OML_EXTENSION_LIST.contains(uri.fileExtension());
+	}
+
+	private static boolean isNonOmlResourceChange(Notification notification) {
+		if (notification.getNotifier() instanceof ResourceSet && notification.getFeatureID(ResourceSet.class) == ResourceSet.RESOURCE_SET__RESOURCES) {
+			return !isOmlResourceValue(notification.getNewValue()) && !isOmlResourceValue(notification.getOldValue());
+		}
+		return false;
+	}
+
+	private static boolean isOmlResourceValue(Object value) {
+		if (value instanceof Resource) {
+			return isOmlResource(value);
+		} else if (value instanceof Collection<?>) {
+			return ((Collection<?>) value).stream().anyMatch(v -> v instanceof Resource && isOmlResource(v));
+		}
+		return false;
+	}
+
+}
@@ -0,0 +1,100 @@
+/**
+ * 
+ * Copyright 2019-2021 California Institute of Technology ("Caltech").
+ * U.S. Government sponsorship acknowledged.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package io.opencaesar.rosetta.sirius.viewpoint.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EObject;
+
+import io.opencaesar.oml.Instance;
+import io.opencaesar.oml.PropertyValueAssertion;
+import io.opencaesar.oml.SemanticProperty;
+
+/**
+ * An index of the property value assertions owned by the instances of a resource set by their properties
+ */
+public final class PropertyValueIndex extends OmlIndex {
+
+	private final Map<Instance, Map<SemanticProperty, List<PropertyValueAssertion>>> assertions = new ConcurrentHashMap<>();
+
+	/**
+	 * Gets the property value index of the resource set of the given object
+	 * 
+	 * @param object The given object
+	 * @return The property value index of the resource set, or null if the object is not in a resource set
+	 */
+	public static PropertyValueIndex get(EObject object) {
+		return OmlIndexAdapter.getIndex(object, PropertyValueIndex.class, r -> new PropertyValueIndex());
+	}
+
+	/**
+	 * Gets the property value assertions owned by the given instance for the given property
+	 * 
+	 * @param instance The given instance
+	 * @param property The given property
+	 * @return An (unmodifiable) list of property value assertions
+	 */
+	public List<PropertyValueAssertion> getAssertions(Instance instance, SemanticProperty property) {
+		var byProperty = assertions.get(instance);
+		if (byProperty == null) {
+			byProperty = new HashMap<>();
+			for (PropertyValueAssertion assertion : instance.getOwnedPropertyValues()) {
+				if (assertion.getProperty() != null) {
+					byProperty.computeIfAbsent(assertion.getProperty(), p -> new ArrayList<>(1)).add(assertion);
+				}
+			}
+			byProperty.replaceAll((p, l) -> Collections.unmodifiableList(l));
+			assertions.put(instance, byProperty);
+		}
+		return byProperty.getOrDefault(property, Collections.emptyList());
+	}
+
+	@Override
+	protected void notifyChanged(Notification notification) {
+		var notifier = notification.getNotifier();
+		if (isResourceChange(notification)) {
+			clear();
+		} else if (notifier instanceof Instance && isValueOfType(notification, PropertyValueAssertion.class)) {
+			assertions.remove(notifier);
+		} else if (notifier instanceof PropertyValueAssertion) {
+			var owner = ((EObject) notifier).eContainer();
+			if (owner != null) {
+				assertions.remove(owner);
+			}
+		}
+		if (notification.getOldValue() != null && isValueOfType(notification, Instance.class)) {
+			var oldValue = notification.getOldValue();
+			var oldInstances = (oldValue instanceof Collection<?>) ? (Collection<?>) oldValue : List.of(oldValue);
+			oldInstances.forEach(i -> assertions.remove(i));
+		}
+	}
+
+	@Override
+	public void clear() {
+		assertions.clear();
+	}
+
+}
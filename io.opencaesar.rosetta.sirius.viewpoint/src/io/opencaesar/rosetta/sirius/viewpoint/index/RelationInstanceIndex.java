@@ -0,0 +1,310 @@
+/**
+ * 
+ * Copyright 2019-2021 California Institute of Technology ("Caltech").
+ * U.S. Government sponsorship acknowledged.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package io.opencaesar.rosetta.sirius.viewpoint.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+
+import io.opencaesar.oml.Entity;
+import io.opencaesar.oml.NamedInstance;
+import io.opencaesar.oml.Ontology;
+import io.opencaesar.oml.RelationInstance;
+import io.opencaesar.oml.TypeAssertion;
+
+/**
+ * An index of the relation instances of a resource set by their (source or target) instances and their types
+ */
+public final class RelationInstanceIndex extends OmlIndex {
+
+	private final ResourceSet resourceSet;
+
+	private final Map<NamedInstance, Map<Entity, Set<RelationInstance>>> outgoing = new HashMap<>();
+
+	private final Map<NamedInstance, Map<Entity, Set<RelationInstance>>> incoming = new HashMap<>();
+
+	private final Map<RelationInstance, Set<RelationInstance>> declarations = new HashMap<>();
+
+	private final Map<RelationInstance, RelationInstance> resolved = new HashMap<>();
+
+	private final Map<RelationInstance, Contribution> contributions = new HashMap<>();
+
+	private boolean built;
+
+	private RelationInstanceIndex(ResourceSet resourceSet) {
+		this.resourceSet = resourceSet;
+	}
+
+	/**
+	 * Gets the relation instance index of the resource set of the given object
+	 * 
+	 * @param object The given object
+	 * @return The relation instance index of the resource set, or null if the object is not in a resource set
+	 */
+	public static RelationInstanceIndex get(EObject object) {
+		return OmlIndexAdapter.getIndex(object, RelationInstanceIndex.class, RelationInstanceIndex::new);
+	}
+
+	/**
+	 * Gets the relation instances that have the given source instance and are typed by the given entity in the
+	 * import scope of the given context ontology
+	 * 
+	 * @param source The given source instance
+	 * @param type The given entity
+	 * @param includeSubtypes Whether relation instances typed by sub types of the entity are also included
+	 * @param context The given context ontology
+	 * @return A set of relation instances
+	 */
+	public Set<RelationInstance> getOutgoingRelationInstances(NamedInstance source, Entity type, boolean includeSubtypes, Ontology context) {
+		return getRelationInstances(outgoing, source, type, includeSubtypes, context, RelationInstance::getSources);
+	}
+
+	/**
+	 * Gets the relation instances that have the given target instance and are typed by the given entity in the
+	 * import scope of the given context ontology
+	 * 
+	 * @param target The given target instance
+	 * @param type The given entity
+	 * @param includeSubtypes Whether relation instances typed by sub types of the entity are also included
+	 * @param context The given context ontology
+	 * @return A set of relation instances
+	 */
+	public Set<RelationInstance> getIncomingRelationInstances(NamedInstance target, Entity type, boolean includeSubtypes, Ontology context) {
+		return getRelationInstances(incoming, target, type, includeSubtypes, context, RelationInstance::getTargets);
+	}
+
+	/**
+	 * Gets the source instances of the declarations (the instance and its refs) of the given relation instance
+	 * in the given scope
+	 * 
+	 * @param instance The given (resolved) relation instance
+	 * @param scope The given scope of resources
+	 * @return A set of source instances
+	 */
+	public synchronized Set<NamedInstance> getSources(RelationInstance instance, Set<Resource> scope) {
+		ensureBuilt();
+		var sources = new LinkedHashSet<NamedInstance>();
+		for (RelationInstance declaration : declarations.getOrDefault(instance, Collections.singleton(instance))) {
+			if (scope.contains(declaration.eResource())) {
+				sources.addAll(declaration.getSources());
+			}
+		}
+		return sources;
+	}
+
+	private Set<RelationInstance> getRelationInstances(Map<NamedInstance, Map<Entity, Set<RelationInstance>>> map, NamedInstance instance, Entity type, boolean includeSubtypes, Ontology context, Function<RelationInstance, Collection<NamedInstance>> ends) {
+		// the scope and subsumption are computed outside of the lock since they can load resources
+		var scope = ImportScopeCache.get(resourceSet).getScope(context);
+		var buckets = new HashMap<Entity, Set<RelationInstance>>();
+		synchronized (this) {
+			ensureBuilt();
+			var byType = map.getOrDefault(instance, Collections.emptyMap());
+			if (includeSubtypes) {
+				byType.forEach((t, s) -> buckets.put(t, new LinkedHashSet<>(s)));
+			} else if (byType.containsKey(type)) {
+				buckets.put(type, new LinkedHashSet<>(byType.get(type)));
+			}
+		}
+		var subsumption = includeSubtypes ? SubsumptionIndex.get(resourceSet) : null;
+		var result = new LinkedHashSet<RelationInstance>();
+		buckets.forEach((t, instances) -> {
+			if (t == type || (subsumption != null && subsumption.isSubTermOf(t, type, context))) {
+				for (RelationInstance i : instances) {
+					if (isInScope(i, instance, t, scope, ends)) {
+						result.add(i);
+					}
+				}
+			}
+		});
+		return result;
+	}
+
+	private synchronized boolean isInScope(RelationInstance instance, NamedInstance end, Entity type, Set<Resource> scope, Function<RelationInstance, Collection<NamedInstance>> ends) {
+		boolean hasEnd = false, hasType = false;
+		for (RelationInstance declaration : declarations.getOrDefault(instance, Collections.emptySet())) {
+			if (scope.contains(declaration.eResource())) {
+				hasEnd = hasEnd || ends.apply(declaration).contains(end);
+				hasType = hasType || declaration.getOwnedTypes().stream().anyMatch(a -> a.getType() == type);
+			}
+		}
+		return hasEnd && hasType;
+	}
+
+	@Override
+	protected synchronized void notifyChanged(Notification notification) {
+		if (!built) {
+			return;
+		}
+		if (isResourceChange(notification)) {
+			clear();
+			return;
+		}
+		var notifier = notification.getNotifier();
+		var affected = new LinkedHashSet<RelationInstance>();
+		if (notifier instanceof RelationInstance) {
+			affected.add(resolved.getOrDefault(notifier, (RelationInstance) notifier));
+		} else if (notifier instanceof TypeAssertion && ((EObject) notifier).eContainer() instanceof RelationInstance) {
+			var declaration = (RelationInstance) ((EObject) notifier).eContainer();
+			affected.add(resolved.getOrDefault(declaration, declaration));
+		}
+		var feature = notification.getFeature();
+		if (feature instanceof EReference && ((EReference) feature).isContainment()) {
+			forEachDeclaration(notification.getOldValue(), d -> {
+				var instance = resolved.remove(d);
+				if (instance != null) {
+					var instanceDeclarations = declarations.get(instance);
+					if (instanceDeclarations != null) {
+						instanceDeclarations.remove(d);
+						if (instanceDeclarations.isEmpty()) {
+							declarations.remove(instance);
+						}
+					}
+					affected.add(instance);
+				}
+			});
+			forEachDeclaration(notification.getNewValue(), d -> affected.add(addDeclaration(d)));
+		}
+		affected.forEach(i -> reindex(i));
+	}
+
+	@Override
+	public synchronized void clear() {
+		outgoing.clear();
+		incoming.clear();
+		declarations.clear();
+		resolved.clear();
+		contributions.clear();
+		built = false;
+	}
+
+	private void ensureBuilt() {
+		if (!built) {
+			clear();
+			built = true;
+			for (Resource resource : new ArrayList<>(resourceSet.getResources())) {
+				if (!resource.getContents().isEmpty() && resource.getContents().get(0) instanceof Ontology) {
+					resource.getAllContents().forEachRemaining(o -> {
+						if (o instanceof RelationInstance) {
+							addDeclaration((RelationInstance) o);
+						}
+					});
+				}
+			}
+			new ArrayList<>(declarations.keySet()).forEach(i -> reindex(i));
+		}
+	}
+
+	private RelationInstance addDeclaration(RelationInstance declaration) {
+		var instance = declaration.isRef() ? (RelationInstance) declaration.resolve() : declaration;
+		if (instance == null) {
+			instance = declaration;
+		}
+		resolved.put(declaration, instance);
+		declarations.computeIfAbsent(instance, k -> new LinkedHashSet<>()).add(declaration);
+		return instance;
+	}
+
+	private void reindex(RelationInstance instance) {
+		var old = contributions.remove(instance);
+		if (old != null) {
+			old.sources.forEach(s -> remove(outgoing, s, old.types, instance));
+			old.targets.forEach(t -> remove(incoming, t, old.types, instance));
+		}
+		var instanceDeclarations = declarations.get(instance);
+		if (instanceDeclarations != null) {
+			var contribution = new Contribution();
+			for (RelationInstance declaration : instanceDeclarations) {
+				contribution.sources.addAll(declaration.getSources());
+				contribution.targets.addAll(declaration.getTargets());
+				for (TypeAssertion assertion : declaration.getOwnedTypes()) {
+					if (assertion.getType() != null) {
+						contribution.types.add(assertion.getType());
+					}
+				}
+			}
+			contribution.sources.forEach(s -> add(outgoing, s, contribution.types, instance));
+			contribution.targets.forEach(t -> add(incoming, t, contribution.types, instance));
+			contributions.put(instance, contribution);
+		}
+	}
+
+	private static void add(Map<NamedInstance, Map<Entity, Set<RelationInstance>>> map, NamedInstance end, Set<Entity> types, RelationInstance instance) {
+		var byType = map.computeIfAbsent(end, k -> new HashMap<>());
+		for (Entity type : types) {
+			byType.computeIfAbsent(type, k -> new LinkedHashSet<>()).add(instance);
+		}
+	}
+
+	private static void remove(Map<NamedInstance, Map<Entity, Set<RelationInstance>>> map, NamedInstance end, Set<Entity> types, RelationInstance instance) {
+		var byType = map.get(end);
+		if (byType != null) {
+			for (Entity type : types) {
+				var instances = byType.get(type);
+				if (instances != null) {
+					instances.remove(instance);
+					if (instances.isEmpty()) {
+						byType.remove(type);
+					}
+				}
+			}
+			if (byType.isEmpty()) {
+				map.remove(end);
+			}
+		}
+	}
+
+	private static void forEachDeclaration(Object value, Consumer<RelationInstance> consumer) {
+		if (value instanceof Collection<?>) {
+			((Collection<?>) value).forEach(v -> forEachDeclaration(v, consumer));
+		} else if (value instanceof RelationInstance) {
+			consumer.accept((RelationInstance) value);
+		} else if (value instanceof EObject) {
+			((EObject) value).eAllContents().forEachRemaining(o -> {
+				if (o instanceof RelationInstance) {
+					consumer.accept((RelationInstance) o);
+				}
+			});
+		}
+	}
+
+	/**
+	 * The ends and types that a relation instance contributes to the index
+	 */
+	private static class Contribution {
+
+		private final Set<NamedInstance> sources = new LinkedHashSet<>();
+
+		private final Set<NamedInstance> targets = new LinkedHashSet<>();
+
+		private final Set<Entity> types = new LinkedHashSet<>();
+	}
+
+}
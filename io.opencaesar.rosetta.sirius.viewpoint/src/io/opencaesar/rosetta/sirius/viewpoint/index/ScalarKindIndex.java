@@ -0,0 +1,200 @@
+/**
+ * 
+ * Copyright 2019-2021 California Institute of Technology ("Caltech").
+ * U.S. Government sponsorship acknowledged.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package io.opencaesar.rosetta.sirius.viewpoint.index;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+
+import io.opencaesar.oml.Scalar;
+import io.opencaesar.oml.Term;
+import io.opencaesar.oml.util.OmlSearch;
+
+/**
+ * An index of the primitive kinds of the scalars of a resource set
+ */
+public final class ScalarKindIndex extends OmlIndex {
+
+	/**
+	 * The primitive kinds of scalars
+	 */
+	public enum Kind {
+		/** A (subtype of) xsd:string */
+		STRING,
+		/** A (subtype of) xsd:boolean */
+		BOOLEAN,
+		/** A (subtype of) xsd:integer */
+		INTEGER,
+		/** A (subtype of) xsd:decimal that is not an integer */
+		DECIMAL,
+		/** A (subtype of) xsd:double or xsd:float */
+		DOUBLE,
+		/** A (subtype of) xsd:date, xsd:dateTime or xsd:dateTimeStamp */
+		DATE,
+		/** A scalar with an enumeration of literals */
+		ENUMERATION
+	}
+
+	private static final String XSD = "http://www.w3.org/2001/XMLSchema#";
+
+	private static final Map<String, Kind> XSD_KINDS = Map.of(
+			XSD + "string", Kind.STRING,
+			XSD + "boolean", Kind.BOOLEAN,
+			XSD + "integer", Kind.INTEGER,
+			XSD + "decimal", Kind.DECIMAL,
+			XSD + "double", Kind.DOUBLE,
+			XSD + "float", Kind.DOUBLE,
+			XSD + "date", Kind.DATE,
+			XSD + "dateTime", Kind.DATE,
+			XSD + "dateTimeStamp", Kind.DATE);
+
+	private final Map<Scalar, Set<Kind>> kinds = new HashMap<>();
+
+	private long generation;
+
+	/**
+	 * Gets the scalar kind index of the resource set of the given object
+	 * 
+	 * @param object The given object
+	 * @return The scalar kind index of the resource set, or null if the object is not in a resource set
+	 */
+	public static ScalarKindIndex get(EObject object) {
+		return OmlIndexAdapter.getIndex(object, ScalarKindIndex.class, r -> new ScalarKindIndex());
+	}
+
+	/**
+	 * Gets the (unmodifiable) kinds of the given scalar from the index of its resource set, or computes them
+	 * when the scalar is not in a resource set
+	 * 
+	 * @param scalar The given scalar
+	 * @return The kinds of the scalar (possibly empty)
+	 */
+	public static Set<Kind> getKinds(Scalar scalar) {
+		var index = get(scalar);
+		return (index != null) ? index.getKindsOf(scalar) : computeKinds(scalar);
+	}
+
+	/**
+	 * Checks whether the given scalar is of the given kind
+	 * 
+	 * @param scalar The given scalar
+	 * @param kind The given kind
+	 * @return true if the scalar is of the kind; otherwise false
+	 */
+	public static boolean isKindOf(Scalar scalar, Kind kind) {
+		return getKinds(scalar).contains(kind);
+	}
+
+	/**
+	 * Gets the (unmodifiable) kinds of the given scalar
+	 * 
+	 * @param scalar The given scalar
+	 * @return The kinds of the scalar (possibly empty)
+	 */
+	public Set<Kind> getKindsOf(Scalar scalar) {
+		long startGeneration;
+		synchronized (this) {
+			var result = kinds.get(scalar);
+			if (result != null) {
+				return result;
+			}
+			startGeneration = generation;
+		}
+		// computed outside of the lock since searching the super terms can load resources (and change the models)
+		var result = computeKinds(scalar);
+		synchronized (this) {
+			if (generation == startGeneration) {
+				kinds.put(scalar, result);
+			}
+		}
+		return result;
+	}
+
+	private static Set<Kind> computeKinds(Scalar scalar) {
+		var result = EnumSet.noneOf(Kind.class);
+		var visited = new HashSet<Term>();
+		var queue = new ArrayDeque<Term>();
+		visited.add(scalar);
+		queue.add(scalar);
+		while (!queue.isEmpty()) {
+			var term = queue.poll();
+			var kind = XSD_KINDS.get(term.getIri());
+			if (kind != null) {
+				result.add(kind);
+			}
+			if (term instanceof Scalar && ((Scalar) term).getOwnedEnumeration() != null) {
+				result.add(Kind.ENUMERATION);
+			}
+			for (Term superTerm : OmlSearch.findSuperTerms(term, null)) {
+				if (visited.add(superTerm)) {
+					queue.add(superTerm);
+				}
+			}
+		}
+		// an integer is also a decimal, but is only classified as an integer
+		if (result.contains(Kind.INTEGER)) {
+			result.remove(Kind.DECIMAL);
+		}
+		return Collections.unmodifiableSet(result);
+	}
+
+	@Override
+	protected synchronized void notifyChanged(Notification notification) {
+		generation++;
+		if (kinds.isEmpty()) {
+			return;
+		}
+		if (isResourceChange(notification) || isImportChange(notification) || isScalarContainmentChange(notification)) {
+			clear();
+		} else if (notification.getNotifier() instanceof EObject) {
+			// a change of a scalar or of its specializations or enumeration affects the kinds of its sub scalars
+			for (var object = (EObject) notification.getNotifier(); object != null; object = object.eContainer()) {
+				if (object instanceof Scalar) {
+					clear();
+					break;
+				}
+			}
+		}
+	}
+
+	private static boolean isScalarContainmentChange(Notification notification) {
+		var feature = notification.getFeature();
+		return feature instanceof EReference && ((EReference) feature).isContainment() && isValueOfType(notification, Scalar.class);
+	}
+
+	@Override
+	public synchronized void clear() {
+		generation++;
+		kinds.clear();
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "ScalarKindIndex [size=" + kinds.size() + "]";
+	}
+
+}
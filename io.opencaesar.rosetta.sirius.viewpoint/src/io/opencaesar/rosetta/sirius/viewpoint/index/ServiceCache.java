@@ -0,0 +1,318 @@
+/**
+ * 
+ * Copyright 2019-2021 California Institute of Technology ("Caltech").
+ * U.S. Government sponsorship acknowledged.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package io.opencaesar.rosetta.sirius.viewpoint.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+
+import io.opencaesar.oml.Member;
+import io.opencaesar.oml.Ontology;
+
+/**
+ * A bounded cache of the results of service calls on the OML models of a resource set
+ */
+public final class ServiceCache extends OmlIndex {
+
+	/**
+	 * The default maximum number of entries in the cache
+	 */
+	public static final int DEFAULT_MAXIMUM_SIZE = 10000;
+
+	private static final Object NULL = new Object();
+
+	private final Map<Key, Entry> entries = new LinkedHashMap<>(256, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+			if (size() > maximumSize) {
+				unregister(eldest.getKey(), eldest.getValue());
+				return true;
+			}
+			return false;
+		}
+	};
+
+	private final Map<EObject, Set<Key>> dependents = new HashMap<>();
+
+	private int maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+	private long generation;
+
+	private long hitCount;
+
+	private long missCount;
+
+	private ServiceCache() {
+	}
+
+	/**
+	 * Gets the service cache of the resource set of the given object
+	 * 
+	 * @param object The given object
+	 * @return The service cache of the resource set, or null if the object is not in a resource set
+	 */
+	public static ServiceCache get(EObject object) {
+		return OmlIndexAdapter.getIndex(object, ServiceCache.class, r -> new ServiceCache());
+	}
+
+	/**
+	 * Gets the result of the given service call from the cache of the resource set of the given context,
+	 * computing (and caching) it if needed
+	 * 
+	 * @param <T> The type of result
+	 * @param context The given context object (typically the first argument of the call)
+	 * @param service The given name of the service
+	 * @param dependencies The objects whose changes invalidate the result (only computed on a miss)
+	 * @param compute The computation of the result
+	 * @param arguments The arguments of the call
+	 * @return The (possibly cached) result of the call
+	 */
+	public static <T> T memoize(EObject context, String service, Supplier<? extends Collection<? extends EObject>> dependencies, Supplier<T> compute, Object... arguments) {
+		var cache = get(context);
+		return (cache != null) ? cache.get(service, dependencies, compute, arguments) : compute.get();
+	}
+
+	/**
+	 * Gets the ontologies in the import scope of the given ontology (including itself)
+	 * 
+	 * @param ontology The given ontology
+	 * @return A set of ontologies
+	 */
+	public static Set<Ontology> getScopeOntologies(Ontology ontology) {
+		var ontologies = new LinkedHashSet<Ontology>();
+		ontologies.add(ontology);
+		var cache = ImportScopeCache.get(ontology);
+		if (cache != null) {
+			for (Resource resource : cache.getScope(ontology)) {
+				if (!resource.getContents().isEmpty() && resource.getContents().get(0) instanceof Ontology) {
+					ontologies.add((Ontology) resource.getContents().get(0));
+				}
+			}
+		}
+		return ontologies;
+	}
+
+	/**
+	 * Gets the result of the given service call from the cache, computing (and caching) it if needed
+	 * 
+	 * @param <T> The type of result
+	 * @param service The given name of the service
+	 * @param dependencies The objects whose changes invalidate the result (only computed on a miss)
+	 * @param compute The computation of the result
+	 * @param arguments The arguments of the call
+	 * @return The (possibly cached) result of the call
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T get(String service, Supplier<? extends Collection<? extends EObject>> dependencies, Supplier<T> compute, Object... arguments) {
+		var key = new Key(service, Arrays.asList(arguments));
+		long startGeneration;
+		synchronized (this) {
+			var entry = entries.get(key);
+			if (entry != null) {
+				hitCount++;
+				return (entry.value != NULL) ? (T) entry.value : null;
+			}
+			missCount++;
+			startGeneration = generation;
+		}
+		// a computation that throws (e.g., an OperationCanceledException) leaves nothing in the cache
+		var value = (T) unmodifiable(compute.get());
+		var objects = new ArrayList<EObject>(dependencies.get());
+		synchronized (this) {
+			if (generation == startGeneration && !entries.containsKey(key)) {
+				var entry = new Entry((value != null) ? value : NULL, objects);
+				// registered before the entry is put since putting it can evict it right away (e.g., with no room)
+				for (EObject dependency : entry.dependencies) {
+					dependents.computeIfAbsent(dependency, k -> new LinkedHashSet<>()).add(key);
+				}
+				entries.put(key, entry);
+			}
+		}
+		return value;
+	}
+
+	private static Object unmodifiable(Object value) {
+		if (value instanceof List<?>) {
+			return Collections.unmodifiableList((List<?>) value);
+		} else if (value instanceof Set<?>) {
+			return Collections.unmodifiableSet((Set<?>) value);
+		} else if (value instanceof Map<?, ?>) {
+			return Collections.unmodifiableMap((Map<?, ?>) value);
+		} else if (value instanceof Collection<?>) {
+			return Collections.unmodifiableCollection((Collection<?>) value);
+		}
+		return value;
+	}
+
+	/**
+	 * Sets the maximum number of entries in the cache (evicting the least recently used ones if needed)
+	 * 
+	 * @param maximumSize The maximum number of entries
+	 */
+	public synchronized void setMaximumSize(int maximumSize) {
+		this.maximumSize = Math.max(0, maximumSize);
+		var iterator = entries.entrySet().iterator();
+		while (entries.size() > this.maximumSize && iterator.hasNext()) {
+			var eldest = iterator.next();
+			iterator.remove();
+			unregister(eldest.getKey(), eldest.getValue());
+		}
+	}
+
+	/**
+	 * Gets the number of entries in the cache
+	 * 
+	 * @return The number of entries
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Gets the number of calls that were answered from the cache
+	 * 
+	 * @return The number of cache hits
+	 */
+	public synchronized long getHitCount() {
+		return hitCount;
+	}
+
+	/**
+	 * Gets the number of calls that had to compute their result
+	 * 
+	 * @return The number of cache misses
+	 */
+	public synchronized long getMissCount() {
+		return missCount;
+	}
+
+	@Override
+	protected synchronized void notifyChanged(Notification notification) {
+		generation++;
+		// an import change can change the abbreviated iris used in the results (e.g., labels)
+		if (isResourceChange(notification) || isImportChange(notification)) {
+			clear();
+			return;
+		}
+		if (entries.isEmpty()) {
+			return;
+		}
+		var notifier = notification.getNotifier();
+		if (notifier instanceof EObject) {
+			for (var object = (EObject) notifier; object != null; object = object.eContainer()) {
+				evictMember(object);
+			}
+		}
+		// a removed object, or a new ref to a member, changes the results that depend on it
+		forEachValue(notification.getOldValue(), this::evictMember);
+		forEachValue(notification.getNewValue(), object -> {
+			if (object instanceof Member) {
+				evict(((Member) object).resolve());
+			}
+		});
+	}
+
+	@Override
+	public synchronized void clear() {
+		generation++;
+		entries.clear();
+		dependents.clear();
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "ServiceCache [size=" + entries.size() + ", hits=" + hitCount + ", misses=" + missCount + "]";
+	}
+
+	/**
+	 * Evicts the results that depend on the given object, or on the member it refers to
+	 */
+	private void evictMember(EObject object) {
+		evict(object);
+		if (object instanceof Member) {
+			var resolved = ((Member) object).resolve();
+			if (resolved != object) {
+				evict(resolved);
+			}
+		}
+	}
+
+	private void evict(EObject dependency) {
+		var keys = dependents.remove(dependency);
+		if (keys != null) {
+			for (Key key : keys) {
+				var entry = entries.remove(key);
+				if (entry != null) {
+					unregister(key, entry);
+				}
+			}
+		}
+	}
+
+	private void unregister(Key key, Entry entry) {
+		for (EObject dependency : entry.dependencies) {
+			var keys = dependents.get(dependency);
+			if (keys != null) {
+				keys.remove(key);
+				if (keys.isEmpty()) {
+					dependents.remove(dependency);
+				}
+			}
+		}
+	}
+
+	private static void forEachValue(Object value, Consumer<EObject> action) {
+		if (value instanceof EObject) {
+			action.accept((EObject) value);
+		} else if (value instanceof Collection<?>) {
+			for (Object v : (Collection<?>) value) {
+				if (v instanceof EObject) {
+					action.accept((EObject) v);
+				}
+			}
+		}
+	}
+
+	/**
+	 * The key of a service call
+	 */
+	private record Key(String service, List<Object> arguments) {
+	}
+
+	/**
+	 * The cached result of a service call and the objects it depends on
+	 */
+	private record Entry(Object value, List<EObject> dependencies) {
+	}
+
+}
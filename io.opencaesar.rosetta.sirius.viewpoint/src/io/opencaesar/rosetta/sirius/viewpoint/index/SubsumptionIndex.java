@@ -0,0 +1,213 @@
+/**
+ * 
+ * Copyright 2019-2021 California Institute of Technology ("Caltech").
+ * U.S. Government sponsorship acknowledged.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package io.opencaesar.rosetta.sirius.viewpoint.index;
+
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+
+import io.opencaesar.oml.Entity;
+import io.opencaesar.oml.Instance;
+import io.opencaesar.oml.Ontology;
+import io.opencaesar.oml.SpecializableTerm;
+import io.opencaesar.oml.SpecializationAxiom;
+import io.opencaesar.oml.Term;
+import io.opencaesar.oml.util.OmlSearch;
+
+/**
+ * An index of the subsumption (specialization) relation between the terms of a resource set
+ */
+public final class SubsumptionIndex extends OmlIndex {
+
+	private final Map<Term, Integer> ids = new HashMap<>();
+
+	private final Map<Ontology, Map<Term, BitSet>> closures = new HashMap<>();
+
+	private final ResourceSet resourceSet;
+
+	private long generation;
+
+	private SubsumptionIndex(ResourceSet resourceSet) {
+		this.resourceSet = resourceSet;
+	}
+
+	/**
+	 * Gets the subsumption index of the given resource set
+	 * 
+	 * @param resourceSet The given resource set
+	 * @return The subsumption index of the resource set
+	 */
+	public static SubsumptionIndex get(ResourceSet resourceSet) {
+		return OmlIndexAdapter.getIndex(resourceSet, SubsumptionIndex.class, SubsumptionIndex::new);
+	}
+
+	/**
+	 * Gets the subsumption index of the resource set of the given object
+	 * 
+	 * @param object The given object
+	 * @return The subsumption index of the resource set, or null if the object is not in a resource set
+	 */
+	public static SubsumptionIndex get(EObject object) {
+		return OmlIndexAdapter.getIndex(object, SubsumptionIndex.class, SubsumptionIndex::new);
+	}
+
+	/**
+	 * Checks whether the given sub term is (or transitively specializes) the given super term in the import
+	 * scope of the given context ontology
+	 * 
+	 * @param subTerm The given sub term
+	 * @param superTerm The given super term
+	 * @param context The given context ontology
+	 * @return true if the sub term is subsumed by the super term; otherwise false
+	 */
+	public synchronized boolean isSubTermOf(Term subTerm, Term superTerm, Ontology context) {
+		if (subTerm == superTerm) {
+			return true;
+		}
+		var superTermIds = getSuperTermIds(subTerm, context);
+		var superId = ids.get(superTerm);
+		return superId != null && superTermIds.get(superId);
+	}
+
+	/**
+	 * Checks whether the given instance is typed (directly or transitively) by the given entity in the import
+	 * scope of the given context ontology
+	 * 
+	 * @param instance The given instance
+	 * @param entity The given entity
+	 * @param context The given context ontology
+	 * @return true if the instance is of kind the entity; otherwise false
+	 */
+	public boolean isKindOf(Instance instance, Entity entity, Ontology context) {
+		var scope = ImportScopeCache.get(resourceSet).getScope(context);
+		for (Entity type : OmlSearch.findTypes(instance, scope)) {
+			if (isSubTermOf(type, entity, context)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Gets the number of terms that have been assigned an id so far
+	 * 
+	 * @return The number of indexed terms
+	 */
+	public synchronized int size() {
+		return ids.size();
+	}
+
+	private BitSet getSuperTermIds(Term term, Ontology context) {
+		var closure = closures.computeIfAbsent(context, k -> new HashMap<>());
+		var bits = closure.get(term);
+		if (bits == null) {
+			// searching the super terms can load resources, whose notifications invalidate the index while computing,
+			// so the closure is computed again once and only stored if nothing changed in the meantime
+			var startGeneration = generation;
+			bits = computeSuperTermIds(term, closure, ImportScopeCache.get(resourceSet).getScope(context));
+			if (generation != startGeneration) {
+				startGeneration = generation;
+				closure = closures.computeIfAbsent(context, k -> new HashMap<>());
+				bits = computeSuperTermIds(term, closure, ImportScopeCache.get(resourceSet).getScope(context));
+			}
+			if (generation == startGeneration) {
+				closure.put(term, bits);
+			}
+		}
+		return bits;
+	}
+
+	private BitSet computeSuperTermIds(Term term, Map<Term, BitSet> closure, Set<Resource> scope) {
+		var bits = new BitSet();
+		var visited = new HashSet<Term>();
+		var queue = new ArrayDeque<Term>();
+		visited.add(term);
+		queue.add(term);
+		while (!queue.isEmpty()) {
+			var t = queue.poll();
+			var known = (t != term) ? closure.get(t) : null;
+			if (known != null) {
+				bits.or(known);
+				continue;
+			}
+			bits.set(getId(t));
+			for (Term superTerm : OmlSearch.findSuperTerms(t, scope)) {
+				if (visited.add(superTerm)) {
+					queue.add(superTerm);
+				}
+			}
+		}
+		return bits;
+	}
+
+	private int getId(Term term) {
+		var id = ids.get(term);
+		if (id == null) {
+			id = ids.size();
+			ids.put(term, id);
+		}
+		return id;
+	}
+
+	private synchronized void invalidate(Term term) {
+		generation++;
+		var id = ids.get(term);
+		if (id != null) {
+			for (Map<Term, BitSet> closure : closures.values()) {
+				closure.values().removeIf(bits -> bits.get(id));
+			}
+		}
+	}
+
+	@Override
+	protected void notifyChanged(Notification notification) {
+		var notifier = notification.getNotifier();
+		if (isResourceChange(notification) || isImportChange(notification)) {
+			clear();
+		} else if (notifier instanceof SpecializableTerm && isValueOfType(notification, SpecializationAxiom.class)) {
+			invalidate((Term) ((SpecializableTerm) notifier).resolve());
+		} else if (notifier instanceof SpecializationAxiom && ((EObject) notifier).eContainer() instanceof SpecializableTerm) {
+			invalidate((Term) ((SpecializableTerm) ((EObject) notifier).eContainer()).resolve());
+		} else if (notification.getOldValue() != null && isValueOfType(notification, SpecializableTerm.class)) {
+			var oldValue = notification.getOldValue();
+			var oldTerms = (oldValue instanceof Collection<?>) ? (Collection<?>) oldValue : List.of(oldValue);
+			oldTerms.stream()
+				.filter(t -> t instanceof SpecializableTerm)
+				.forEach(t -> invalidate((Term) t));
+		}
+	}
+
+	@Override
+	public synchronized void clear() {
+		generation++;
+		ids.clear();
+		closures.clear();
+	}
+
+}
@@ -20,10 +20,13 @@ package io.opencaesar.rosetta.sirius.viewpoint.internal;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -35,6 +38,7 @@ import org.eclipse.emf.ecore.EObject;
 import io.opencaesar.oml.Argument;
 import io.opencaesar.oml.BooleanLiteral;
 import io.opencaesar.oml.CardinalityRestrictionKind;
+import io.opencaesar.oml.Classifier;
 import io.opencaesar.oml.DecimalLiteral;
 import io.opencaesar.oml.Description;
 import io.opencaesar.oml.DifferentFromPredicate;
@@ -75,6 +79,13 @@ import io.opencaesar.oml.util.OmlBuilder;
 import io.opencaesar.oml.util.OmlRead;
 import io.opencaesar.oml.util.OmlSearch;
 import io.opencaesar.oml.util.OmlWrite;
+import io.opencaesar.rosetta.sirius.viewpoint.index.CardinalityIndex;
+import io.opencaesar.rosetta.sirius.viewpoint.index.CardinalityIndex.Cardinality;
+import io.opencaesar.rosetta.sirius.viewpoint.index.ImportClosureCache;
+import io.opencaesar.rosetta.sirius.viewpoint.index.ScalarKindIndex;
+import io.opencaesar.rosetta.sirius.viewpoint.index.ScalarKindIndex.Kind;
+import io.opencaesar.rosetta.sirius.viewpoint.index.ServiceCache;
+import io.opencaesar.rosetta.sirius.viewpoint.metrics.ServiceMetrics;
 
 /**
  * Services used by the OML viewpoint
@@ -93,23 +104,13 @@ public final class OmlServices extends io.opencaesar.rosetta.sirius.viewpoint.Om
 	}
 
 	public static boolean isStringProperty(ScalarProperty property) {
-		var string = (Scalar) OmlRead.getMemberByAbbreviatedIri(property.eResource().getResourceSet(), "xsd:string");
-		return property.getRanges().stream()
-				.anyMatch(r -> OmlSearch.findIsSubTermOf(r, string, null));
+		return ServiceMetrics.time("isStringProperty(ScalarProperty)", () -> property.getRanges().stream()
+				.anyMatch(r -> ScalarKindIndex.isKindOf(r, Kind.STRING)));
 	}
 	
 	public static boolean isBooleanProperty(ScalarProperty property) {
-		var string = (Scalar) OmlRead.getMemberByAbbreviatedIri(property.eResource().getResourceSet(), "xsd:boolean");
-		return property.getRanges().stream()
-				.anyMatch(r -> OmlSearch.findIsSubTermOf(r, string, null));
-	}
-
-	public static void setPropertyValue(Instance instance, ScalarProperty property, Object newValue) {
-		removePropertyValue(instance.getOntology(), instance, property.getAbbreviatedIri());
-		if (newValue != null && newValue.toString().length() > 0) {
-			var newLiteral = OmlWrite.createLiteral(newValue);
-			addPropertyValue(instance.getOntology(), instance, property.getAbbreviatedIri(), newLiteral);
-		}
+		return ServiceMetrics.time("isBooleanProperty(ScalarProperty)", () -> property.getRanges().stream()
+				.anyMatch(r -> ScalarKindIndex.isKindOf(r, Kind.BOOLEAN)));
 	}
 
 	public static Set<Object> getEnumeratiomLiteralValues(ScalarProperty property) {
@@ -133,48 +134,77 @@ public final class OmlServices extends io.opencaesar.rosetta.sirius.viewpoint.Om
     	return iri;
     }
     
+    private static List<EObject> getLabelDependencies(Ontology ontology, Member member) {
+    	var dependencies = new ArrayList<EObject>(List.of(ontology, member, member.resolve()));
+    	if (member.resolve().getOntology() != null) {
+    		dependencies.add(member.resolve().getOntology());
+    	}
+    	return dependencies;
+    }
+    
 	public static String getLabel(Ontology ontology, Member member) {
-		return getAbbreviatedIriIn(member, ontology);
+		return ServiceMetrics.time("getLabel(Ontology, Member)", () -> {
+			return memoize(ontology, "getLabel", () -> getLabelDependencies(ontology, member), () -> getAbbreviatedIriIn(member, ontology), ontology, member);
+		});
 	}
 	
 	public static String getForwardLabel(Ontology ontology, RelationEntity entity) {
-		if (entity.getForwardRelation() != null) {
-			var name = getAbbreviatedIriIn(entity.getForwardRelation(), ontology);
-			var cardinality = getCardinality(entity.getSources().iterator().next(), entity.getForwardRelation());
-			return String.join(" ", cardinality, name).trim();
-		} else {
-			return entity.isFunctional() ? getCardinality("0", "1") : "";
-		}
+		return ServiceMetrics.time("getForwardLabel(Ontology, RelationEntity)", () -> {
+			if (entity.getForwardRelation() != null) {
+				var name = getAbbreviatedIriIn(entity.getForwardRelation(), ontology);
+				var cardinality = getCardinality(entity.getSources().iterator().next(), entity.getForwardRelation());
+				return String.join(" ", cardinality, name).trim();
+			} else {
+				return entity.isFunctional() ? getCardinality("0", "1") : "";
+			}
+		});
 	}
 
 	public static String getReverseLabel(Ontology ontology, RelationBase base) {
-		if (base.getReverseRelation() != null) {
-			var name = getLabel(ontology, base.getReverseRelation());
-			var cardinality = getCardinality(base.getTargets().iterator().next(), base.getReverseRelation());
-			return String.join(" ", cardinality, name).trim();
-		} else {
-			return base.isInverseFunctional() ? getCardinality("0", "1") : "";
-		}
+		return ServiceMetrics.time("getReverseLabel(Ontology, RelationBase)", () -> {
+			if (base.getReverseRelation() != null) {
+				var name = getLabel(ontology, base.getReverseRelation());
+				var cardinality = getCardinality(base.getTargets().iterator().next(), base.getReverseRelation());
+				return String.join(" ", cardinality, name).trim();
+			} else {
+				return base.isInverseFunctional() ? getCardinality("0", "1") : "";
+			}
+		});
 	}
 
 	public static String getLabel(Ontology ontology, UnreifiedRelation relation) {
-		var name = getAbbreviatedIriIn(relation, ontology);
-		var cardinality = getCardinality(relation.getSources().iterator().next(), relation);
-		var supers = OmlSearch.findSuperTerms(relation, getScope(ontology)).stream().map(r -> getLabel(ontology, r)).collect(Collectors.joining(","));
-		return String.join(" ", cardinality, name, supers.length()>0 ? "\n{subsets "+supers+"}" : "").trim();
+		return ServiceMetrics.time("getLabel(Ontology, UnreifiedRelation)", () -> {
+			var name = getAbbreviatedIriIn(relation, ontology);
+			var cardinality = getCardinality(relation.getSources().iterator().next(), relation);
+			var supers = OmlSearch.findSuperTerms(relation, getScope(ontology)).stream().map(r -> getLabel(ontology, r)).collect(Collectors.joining(","));
+			return String.join(" ", cardinality, name, supers.length()>0 ? "\n{subsets "+supers+"}" : "").trim();
+		});
 	}
 
 	public static String getLabel(Ontology ontology, Entity entity, ScalarProperty property) {
-		var name = getAbbreviatedIriIn(property, ontology);
-		var ranges = property.getRangeList().stream().map(i -> getLabel(ontology, i)).collect(Collectors.joining(" & "));
-		var cardinality = getCardinality(entity, property);
-		var supers = OmlSearch.findSuperTerms(property, getScope(ontology)).stream().map(r -> getLabel(ontology, r)).collect(Collectors.joining(","));
-		return String.join(" ", name, ":", ranges, (cardinality.length()>0 ? cardinality : ""), supers.length()>0 ? "\n{subsets "+supers+"}" : "").trim();
+		return ServiceMetrics.time("getLabel(Ontology, Entity, ScalarProperty)", () -> {
+			var name = getAbbreviatedIriIn(property, ontology);
+			var ranges = property.getRangeList().stream().map(i -> getLabel(ontology, i)).collect(Collectors.joining(" & "));
+			var cardinality = getCardinality(entity, property);
+			var supers = OmlSearch.findSuperTerms(property, getScope(ontology)).stream().map(r -> getLabel(ontology, r)).collect(Collectors.joining(","));
+			return String.join(" ", name, ":", ranges, (cardinality.length()>0 ? cardinality : ""), supers.length()>0 ? "\n{subsets "+supers+"}" : "").trim();
+		});
 	}
 	
 	public static String getLabel(Ontology ontology, NamedInstance instance) {
-		var types = OmlSearch.findTypeAssertions(instance, getScope(ontology)).stream()
-				.map(a -> getLabel(ontology, a.getType()))
+		return ServiceMetrics.time("getLabel(Ontology, NamedInstance)", () -> {
+			var dependencies = new ArrayList<EObject>(List.of(instance, instance.resolve()));
+			return memoize(instance, "getNamedInstanceLabel", () -> dependencies, () -> computeLabel(ontology, instance, dependencies), ontology, instance);
+		});
+	}
+
+	private static String computeLabel(Ontology ontology, NamedInstance instance, Collection<EObject> dependencies) {
+		var typeList = OmlSearch.findTypeAssertions(instance, getScope(ontology)).stream()
+				.map(a -> a.getType())
+				.collect(Collectors.toList());
+		dependencies.addAll(typeList);
+		var types = typeList.stream()
+				.map(t -> getLabel(ontology, t))
                 .collect(Collectors.joining(", "));
 		
 		var iri = getAbbreviatedIriIn(instance, ontology);
@@ -193,10 +223,25 @@ public final class OmlServices extends io.opencaesar.rosetta.sirius.viewpoint.Om
 	}
 
     public static String getForwardLabel(Ontology ontology, RelationInstance instance) {
-		return OmlSearch.findTypeAssertions(instance, getScope(ontology)).stream()
+    	return ServiceMetrics.time("getForwardLabel(Ontology, RelationInstance)", () -> {
+    		var dependencies = new ArrayList<EObject>(List.of(instance, instance.resolve()));
+    		return memoize(instance, "getForwardLabel", () -> dependencies, () -> computeForwardLabel(ontology, instance, dependencies), ontology, instance);
+    	});
+    }
+
+    private static String computeForwardLabel(Ontology ontology, RelationInstance instance, Collection<EObject> dependencies) {
+		var entities = OmlSearch.findTypeAssertions(instance, getScope(ontology)).stream()
 				.map(a -> a.getType())
 				.filter(t -> t instanceof RelationEntity)
-				.map(r -> ((RelationEntity)r).getForwardRelation())
+				.map(t -> (RelationEntity)t)
+				.collect(Collectors.toList());
+		dependencies.addAll(entities);
+		var relations = entities.stream()
+				.map(r -> r.getForwardRelation())
+				.filter(r -> r != null)
+				.collect(Collectors.toList());
+		dependencies.addAll(relations);
+		return relations.stream()
 				.map(r -> getLabel(ontology, r))
                 .collect(Collectors.joining(", "));
 	}
@@ -217,6 +262,14 @@ public final class OmlServices extends io.opencaesar.rosetta.sirius.viewpoint.Om
     }
 
     public static String getLabel(Ontology ontology, PropertyValueAssertion assertion) {
+    	return ServiceMetrics.time("getLabel(Ontology, PropertyValueAssertion)", () -> {
+    		var dependencies = new ArrayList<EObject>(List.of(assertion));
+    		return memoize(assertion, "getPropertyValueAssertionLabel", () -> dependencies, () -> computeLabel(ontology, assertion, dependencies), ontology, assertion);
+    	});
+    }
+
+    private static String computeLabel(Ontology ontology, PropertyValueAssertion assertion, Collection<EObject> dependencies) {
+		dependencies.add(assertion.getProperty());
 		var property = getAbbreviatedIriIn(assertion.getProperty(), ontology);
 		if (assertion.getProperty() instanceof ScalarProperty) {
 			var value = assertion.getLiteralValues().stream().map(v -> v.getLexicalValue()).collect(Collectors.joining(", "));
@@ -275,9 +328,11 @@ public final class OmlServices extends io.opencaesar.rosetta.sirius.viewpoint.Om
 	}
 	
 	public static String getCardinality(Entity context, SemanticProperty property) {
-		var min = getMinCardinality(context, property);
-		var max = getMaxCardinality(context, property);
-		return getCardinality(min, max);
+		return ServiceMetrics.time("getCardinality(Entity, SemanticProperty)", () -> {
+			var min = getMinCardinality(context, property);
+			var max = getMaxCardinality(context, property);
+			return getCardinality(min, max);
+		});
 	}
 
 	public static String getCardinality(String min, String max) {
@@ -291,56 +346,14 @@ public final class OmlServices extends io.opencaesar.rosetta.sirius.viewpoint.Om
 	}
 
 	public static String getMinCardinality(Entity context, SemanticProperty property) {
-		var exactAxiom = context.getOwnedPropertyRestrictions().stream()
-			.filter(a -> a instanceof PropertyCardinalityRestrictionAxiom)
-			.map(a -> (PropertyCardinalityRestrictionAxiom)a)
-			.filter(a -> a.getProperty() == property)
-			.filter(a -> a.getRange() == null)
-			.filter(a -> a.getKind() == CardinalityRestrictionKind.EXACTLY)
-			.findFirst().orElse(null);
-		
-		if (exactAxiom != null) {
-			return String.valueOf(exactAxiom.getCardinality());
-		} 
-		
-		var minAxiom = context.getOwnedPropertyRestrictions().stream()
-				.filter(a -> a instanceof PropertyCardinalityRestrictionAxiom)
-				.map(a -> (PropertyCardinalityRestrictionAxiom)a)
-				.filter(a -> a.getProperty() == property)
-				.filter(a -> a.getRange() == null)
-				.filter(a -> a.getKind() == CardinalityRestrictionKind.MIN)
-				.findFirst().orElse(null);
-		
-		if (minAxiom != null) {
-			return String.valueOf(minAxiom.getCardinality());
-		}
-		
-		return "0";
+		var min = CardinalityIndex.getCardinality(context, property).getMin();
+		return (min != Cardinality.NONE) ? String.valueOf(min) : "0";
 	}
 	
 	public static String getMaxCardinality(Entity context, SemanticProperty property) {
-		var exactAxiom = context.getOwnedPropertyRestrictions().stream()
-			.filter(a -> a instanceof PropertyCardinalityRestrictionAxiom)
-			.map(a -> (PropertyCardinalityRestrictionAxiom)a)
-			.filter(a -> a.getProperty() == property)
-			.filter(a -> a.getRange() == null)
-			.filter(a -> a.getKind() == CardinalityRestrictionKind.EXACTLY)
-			.findFirst().orElse(null);
-		
-		if (exactAxiom != null) {
-			return String.valueOf(exactAxiom.getCardinality());
-		} 
-		
-		var maxAxiom = context.getOwnedPropertyRestrictions().stream()
-				.filter(a -> a instanceof PropertyCardinalityRestrictionAxiom)
-				.map(a -> (PropertyCardinalityRestrictionAxiom)a)
-				.filter(a -> a.getProperty() == property)
-				.filter(a -> a.getRange() == null)
-				.filter(a -> a.getKind() == CardinalityRestrictionKind.MAX)
-				.findFirst().orElse(null);
-		
-		if (maxAxiom != null) {
-			return String.valueOf(maxAxiom.getCardinality());
+		var max = CardinalityIndex.getCardinality(context, property).getMax();
+		if (max != Cardinality.NONE) {
+			return String.valueOf(max);
 		}
 
 		if (property.isFunctional()) {
@@ -353,28 +366,30 @@ public final class OmlServices extends io.opencaesar.rosetta.sirius.viewpoint.Om
     //--------------
 
 	private static Set<Member> getAllMembers(Ontology ontology) {
-		return OmlRead.getImportedOntologyClosure(ontology, true).stream()
-				.flatMap(i -> OmlRead.getMembers(i).stream())
-				.collect(Collectors.toSet());
+		return ImportClosureCache.getSnapshot(ontology).members();
 	}
 
 	private static Set<Statement> getAllStatements(Ontology ontology) {
-		return OmlRead.getImportedOntologyClosure(ontology, true).stream()
-				.flatMap(i -> OmlRead.getStatements(i).stream())
-				.collect(Collectors.toSet());
+		return ImportClosureCache.getSnapshot(ontology).statements();
 	}
 
 	public static Set<Member> getVisualizableMembers(Ontology ontology) {
-		return getAllMembers(ontology);
+		return ServiceMetrics.time("getVisualizableMembers(Ontology)", () -> memoize(ontology, "getVisualizableMembers", () -> ServiceCache.getScopeOntologies(ontology), () -> getAllMembers(ontology), ontology));
 	}
 
 	public static Set<Member> getLocalVisualizableMembers(Vocabulary vocabulary) {
-		var statements = new HashSet<Member>();
-		statements.addAll(OmlRead.getStatements(vocabulary));
-		return statements;
+		return ServiceMetrics.time("getLocalVisualizableMembers(Vocabulary)", () -> {
+			var statements = new HashSet<Member>();
+			statements.addAll(OmlRead.getStatements(vocabulary));
+			return statements;
+		});
 	}
 
 	public static Set<PropertyRestrictionAxiom> getVisualizablePropertyRestrictions(Vocabulary vocabulary) {
+		return ServiceMetrics.time("getVisualizablePropertyRestrictions(Vocabulary)", () -> memoize(vocabulary, "getVisualizablePropertyRestrictions", () -> ServiceCache.getScopeOntologies(vocabulary), () -> computeVisualizablePropertyRestrictions(vocabulary), vocabulary));
+	}
+
+	private static Set<PropertyRestrictionAxiom> computeVisualizablePropertyRestrictions(Vocabulary vocabulary) {
 		return getAllStatements(vocabulary).stream()
 				.filter(m -> m instanceof Entity)
 				.map(e -> (Entity)e)
@@ -384,6 +399,10 @@ public final class OmlServices extends io.opencaesar.rosetta.sirius.viewpoint.Om
 	}
 
 	public static Set<SpecializationAxiom> getVisualizableSpecializations(Vocabulary vocabulary) {
+		return ServiceMetrics.time("getVisualizableSpecializations(Vocabulary)", () -> memoize(vocabulary, "getVisualizableSpecializations", () -> ServiceCache.getScopeOntologies(vocabulary), () -> computeVisualizableSpecializations(vocabulary), vocabulary));
+	}
+
+	private static Set<SpecializationAxiom> computeVisualizableSpecializations(Vocabulary vocabulary) {
 		return getAllStatements(vocabulary).stream()
 				.filter(s -> s instanceof SpecializableTerm)
 				.map(s -> (SpecializableTerm)s)
@@ -392,12 +411,28 @@ public final class OmlServices extends io.opencaesar.rosetta.sirius.viewpoint.Om
 	}
 
 	public static List<SemanticProperty> getVisualizableProperties(Vocabulary vocabulary, Entity entity) {
-		return getAllMembers(vocabulary).stream()
+		return ServiceMetrics.time("getVisualizableProperties(Vocabulary, Entity)", () -> getVisualizablePropertiesByDomain(vocabulary).getOrDefault(entity, Collections.emptyList()));
+	}
+
+	/*
+	 * The properties of the import closure of the given vocabulary keyed by their domains (and sorted by name),
+	 * computed once for all the entity compartments of a vocabulary diagram
+	 */
+	private static Map<Classifier, List<SemanticProperty>> getVisualizablePropertiesByDomain(Vocabulary vocabulary) {
+		return memoize(vocabulary, "getVisualizablePropertiesByDomain", () -> ServiceCache.getScopeOntologies(vocabulary), () -> computeVisualizablePropertiesByDomain(vocabulary), vocabulary);
+	}
+
+	private static Map<Classifier, List<SemanticProperty>> computeVisualizablePropertiesByDomain(Vocabulary vocabulary) {
+		var properties = new HashMap<Classifier, List<SemanticProperty>>();
+		getAllMembers(vocabulary).stream()
 			.filter(s -> s instanceof SemanticProperty)
 			.map(s -> (SemanticProperty)s)
-			.filter(p -> p.getDomainList().contains(entity))
 			.sorted((p1, p2) -> p1.getName().compareTo(p2.getName()))
-			.collect(Collectors.toList());
+			.forEach(p -> p.getDomainList().stream()
+				.distinct()
+				.forEach(d -> properties.computeIfAbsent(d, k -> new ArrayList<>()).add(p)));
+		properties.replaceAll((d, l) -> Collections.unmodifiableList(l));
+		return properties;
 	}
 
 	public static List<Literal> getVisualizableLiterals(Vocabulary vocabulary, Scalar scalar) {
@@ -407,6 +442,10 @@ public final class OmlServices extends io.opencaesar.rosetta.sirius.viewpoint.Om
 	}
 
 	public static Set<NamedInstance> getVisualizableNamedInstances(Description description) {
+		return ServiceMetrics.time("getVisualizableNamedInstances(Description)", () -> memoize(description, "getVisualizableNamedInstances", () -> List.of(description), () -> computeVisualizableNamedInstances(description), description));
+	}
+
+	private static Set<NamedInstance> computeVisualizableNamedInstances(Description description) {
 		var instances = new LinkedHashSet<NamedInstance>();
 		// member instances
 		instances.addAll(description.getOwnedStatements().stream()
@@ -439,6 +478,10 @@ public final class OmlServices extends io.opencaesar.rosetta.sirius.viewpoint.Om
 	}
 
     public static Set<PropertyValueAssertion> getVisualizableLinks(Description description) {
+    	return ServiceMetrics.time("getVisualizableLinks(Description)", () -> memoize(description, "getVisualizableLinks", () -> List.of(description), () -> computeVisualizableLinks(description), description));
+    }
+
+    private static Set<PropertyValueAssertion> computeVisualizableLinks(Description description) {
 		return description.getOwnedStatements().stream()
 				.filter(s -> s instanceof NamedInstance)
 				.map(s -> (NamedInstance)s)
@@ -448,6 +491,10 @@ public final class OmlServices extends io.opencaesar.rosetta.sirius.viewpoint.Om
 	}
 
 	public static List<PropertyValueAssertion> getVisualizableScalarPropertyValues(Description description, NamedInstance instance) {
+		return ServiceMetrics.time("getVisualizableScalarPropertyValues(Description, NamedInstance)", () -> memoize(description, "getVisualizableScalarPropertyValues", () -> List.of(description), () -> computeVisualizableScalarPropertyValues(description, instance), description, instance));
+	}
+
+	private static List<PropertyValueAssertion> computeVisualizableScalarPropertyValues(Description description, NamedInstance instance) {
 		return description.getOwnedStatements().stream()
 			.filter(s -> s.resolve() == instance)
 			.map(s -> (NamedInstance)s)
@@ -555,7 +602,7 @@ public final class OmlServices extends io.opencaesar.rosetta.sirius.viewpoint.Om
     }
 
     public static Set<SemanticProperty> getCandidateSemanticProperties(Entity entity, Ontology context) {
-    	return OmlSearch.findSemanticPropertiesWithDomain(entity, getScope(context));
+    	return ServiceMetrics.time("getCandidateSemanticProperties(Entity, Ontology)", () -> OmlSearch.findSemanticPropertiesWithDomain(entity, getScope(context)));
     }
 
     public static void parseLiteralValue(Literal literal, String newValue) {
@@ -569,9 +616,9 @@ public final class OmlServices extends io.opencaesar.rosetta.sirius.viewpoint.Om
 		    		aLiteral.setValue(v);
 		    		var t = matcher.group(2);
 		    		if (t != null) {
-		    			var type = (Scalar) OmlRead.getMemberByAbbreviatedIri(literal.getOntology(), t);
+		    			var type = (Scalar) resolveMember(literal.getOntology(), t);
 		    			if (type == null) {
-		    				type = (Scalar) OmlRead.getMemberByAbbreviatedIri(literal.eResource().getResourceSet(), t);
+		    				type = (Scalar) resolveMember(literal.eResource().getResourceSet(), t);
 		    				OmlWrite.addImport(literal.getOntology(), type.getOntology());
 		    			}
 		    			((QuotedLiteral) literal).setType(type);
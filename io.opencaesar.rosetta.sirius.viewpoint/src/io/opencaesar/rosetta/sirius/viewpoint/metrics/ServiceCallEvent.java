@@ -0,0 +1,49 @@
+/**
+ * 
+ * Copyright 2019-2021 California Institute of Technology ("Caltech").
+ * U.S. Government sponsorship acknowledged.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package io.opencaesar.rosetta.sirius.viewpoint.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A flight recorder event for a call to a service of the OML viewpoint
+ */
+@Name("io.opencaesar.rosetta.ServiceCall")
+@Label("Service Call")
+@Category({"OML Rosetta", "Sirius"})
+@Description("A call to a service of the OML viewpoint")
+class ServiceCallEvent extends Event {
+
+	@Label("Service")
+	String service;
+
+	@Label("Representation")
+	String representation;
+
+	@Label("Result Size")
+	int size;
+
+	@Label("Nested")
+	@Description("Whether the call is nested in another service call")
+	boolean nested;
+
+}
@@ -0,0 +1,89 @@
+/**
+ * 
+ * Copyright 2019-2021 California Institute of Technology ("Caltech").
+ * U.S. Government sponsorship acknowledged.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package io.opencaesar.rosetta.sirius.viewpoint.metrics;
+
+/**
+ * A guard for the use of {@link ServiceCallEvent} when the flight recorder API is not available at runtime
+ */
+final class ServiceCallEvents {
+
+	private static final boolean AVAILABLE = isAvailable();
+
+	private static final Object PROBE = AVAILABLE ? new ServiceCallEvent() : null;
+
+	private ServiceCallEvents() {
+	}
+
+	/**
+	 * Checks whether the flight recorder is recording service call events
+	 * 
+	 * @return true if the events are recorded; otherwise false
+	 */
+	static boolean isEnabled() {
+		return AVAILABLE && ((ServiceCallEvent) PROBE).isEnabled();
+	}
+
+	/**
+	 * Begins a service call event if the flight recorder is recording such events
+	 * 
+	 * @return The event in progress, or null if no event is recorded
+	 */
+	static Object begin() {
+		if (!AVAILABLE) {
+			return null;
+		}
+		var event = new ServiceCallEvent();
+		if (!event.isEnabled()) {
+			return null;
+		}
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * Commits the given service call event
+	 * 
+	 * @param event The event returned by {@link #begin()}
+	 * @param service The name of the service
+	 * @param representation The name of the representation
+	 * @param size The size of the result
+	 * @param nested Whether the call is nested in another service call
+	 */
+	static void commit(Object event, String service, String representation, int size, boolean nested) {
+		var callEvent = (ServiceCallEvent) event;
+		callEvent.end();
+		if (callEvent.shouldCommit()) {
+			callEvent.service = service;
+			callEvent.representation = representation;
+			callEvent.size = size;
+			callEvent.nested = nested;
+			callEvent.commit();
+		}
+	}
+
+	private static boolean isAvailable() {
+		try {
+			Class.forName("jdk.jfr.Event", false, ServiceCallEvents.class.getClassLoader());
+			return true;
+		} catch (ClassNotFoundException | LinkageError e) {
+			return false;
+		}
+	}
+
+}
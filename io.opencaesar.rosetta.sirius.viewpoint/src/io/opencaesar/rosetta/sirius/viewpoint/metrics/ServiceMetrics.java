@@ -0,0 +1,257 @@
+/**
+ * 
+ * Copyright 2019-2021 California Institute of Technology ("Caltech").
+ * U.S. Government sponsorship acknowledged.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package io.opencaesar.rosetta.sirius.viewpoint.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Metrics of the calls to the services of the OML viewpoint
+ * 
+ * All the public query and edit services of OmlServices are timed, except the memoization settings and the
+ * helpers that only navigate to a related object or resolve an abbreviated iri (getScope, resolveMember,
+ * getOntology, getDescription, getVocabulary, getSemanticDiagram and getParent). The time of a stream service
+ * only covers the creation of its (lazy) stream, not its consumption.
+ */
+public final class ServiceMetrics {
+
+	/**
+	 * The name used for calls made outside of a representation refresh
+	 */
+	public static final String NO_REPRESENTATION = "";
+
+	private static final int SAMPLE_SIZE = 1024;
+
+	private static volatile boolean enabled;
+
+	private static final ThreadLocal<String> representation = new ThreadLocal<>();
+
+	/** The depth of the current call and the time spent in its nested calls on each thread */
+	private static final ThreadLocal<long[]> calls = ThreadLocal.withInitial(() -> new long[2]);
+
+	private static final Map<Key, Recorder> recorders = new ConcurrentHashMap<>();
+
+	private ServiceMetrics() {
+	}
+
+	/**
+	 * The statistics of the calls to a service in a representation
+	 * 
+	 * @param representation The name of the representation (or {@link #NO_REPRESENTATION})
+	 * @param service The name of the service
+	 * @param count The number of calls
+	 * @param totalNanos The total time of the calls in nanoseconds
+	 * @param selfNanos The total time of the calls in nanoseconds, excluding the time of their nested service calls
+	 * @param p99Nanos The 99th percentile of the time of the (most recent) calls in nanoseconds
+	 * @param maxNanos The maximum time of a call in nanoseconds
+	 * @param meanSize The mean size of the results (the number of elements of collection results)
+	 */
+	public record Statistics(String representation, String service, long count, long totalNanos, long selfNanos, long p99Nanos, long maxNanos, double meanSize) {
+	}
+
+	private record Key(String representation, String service) {
+	}
+
+	/**
+	 * Checks whether service metrics are recorded
+	 * 
+	 * @return true if metrics are recorded; otherwise false
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Enables or disables the recording of service metrics
+	 * 
+	 * @param enabled Whether metrics are recorded
+	 */
+	public static void setEnabled(boolean enabled) {
+		ServiceMetrics.enabled = enabled;
+	}
+
+	/**
+	 * Sets the name of the representation whose calls are being made on the current thread
+	 * 
+	 * @param name The name of the representation (or null when the calls are no longer made for it)
+	 */
+	public static void setRepresentation(String name) {
+		if (name != null) {
+			representation.set(name);
+		} else {
+			representation.remove();
+		}
+	}
+
+	/**
+	 * Computes the result of a service call, records its metrics (if enabled) and emits a flight recorder event
+	 * (if recorded), also for calls nested in other service calls
+	 * 
+	 * @param <T> The type of the result
+	 * @param service The name of the service
+	 * @param compute The computation of the result
+	 * @return The result of the call
+	 */
+	public static <T> T time(String service, Supplier<T> compute) {
+		if (!enabled && !ServiceCallEvents.isEnabled()) {
+			return compute.get();
+		}
+		var frame = calls.get();
+		var nested = frame[0] > 0;
+		var outerNanos = frame[1];
+		frame[0]++;
+		frame[1] = 0;
+		var event = ServiceCallEvents.begin();
+		var start = System.nanoTime();
+		T result;
+		long nanos;
+		long selfNanos;
+		try {
+			result = compute.get();
+		} finally {
+			nanos = System.nanoTime() - start;
+			selfNanos = nanos - frame[1];
+			frame[0]--;
+			frame[1] = outerNanos + nanos;
+		}
+		var name = representation.get();
+		if (name == null) {
+			name = NO_REPRESENTATION;
+		}
+		var size = sizeOf(result);
+		if (enabled) {
+			recorders.computeIfAbsent(new Key(name, service), k -> new Recorder()).record(nanos, selfNanos, size);
+		}
+		if (event != null) {
+			ServiceCallEvents.commit(event, service, name, size, nested);
+		}
+		return result;
+	}
+
+	/**
+	 * Runs a service call that has no result, records its metrics (if enabled) and emits a flight recorder event
+	 * (if recorded)
+	 * 
+	 * @param service The name of the service
+	 * @param run The service call
+	 */
+	public static void run(String service, Runnable run) {
+		time(service, () -> {
+			run.run();
+			return null;
+		});
+	}
+
+	/**
+	 * Gets the statistics of the recorded calls sorted by decreasing total time
+	 * 
+	 * @return A list of statistics
+	 */
+	public static List<Statistics> getStatistics() {
+		var statistics = new ArrayList<Statistics>(recorders.size());
+		recorders.forEach((key, recorder) -> statistics.add(recorder.getStatistics(key)));
+		statistics.sort(Comparator.comparingLong(Statistics::totalNanos).reversed());
+		return statistics;
+	}
+
+	/**
+	 * Discards the recorded metrics
+	 */
+	public static void reset() {
+		recorders.clear();
+	}
+
+	/**
+	 * Writes the statistics of the recorded calls as CSV (with times in milliseconds)
+	 * 
+	 * @param writer The writer to write to
+	 * @throws IOException If the statistics cannot be written
+	 */
+	public static void writeCsv(Writer writer) throws IOException {
+		writer.write("representation,service,count,totalMillis,selfMillis,meanMillis,p99Millis,maxMillis,meanSize\n");
+		for (Statistics s : getStatistics()) {
+			writer.write(String.format(Locale.ROOT, "%s,%s,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.1f\n",
+				csv(s.representation()), csv(s.service()), s.count(),
+				s.totalNanos() / 1e6, s.selfNanos() / 1e6, s.totalNanos() / 1e6 / s.count(), s.p99Nanos() / 1e6, s.maxNanos() / 1e6,
+				s.meanSize()));
+		}
+		writer.flush();
+	}
+
+	private static int sizeOf(Object result) {
+		if (result instanceof Collection<?>) {
+			return ((Collection<?>) result).size();
+		} else if (result instanceof Map<?, ?>) {
+			return ((Map<?, ?>) result).size();
+		}
+		return (result != null) ? 1 : 0;
+	}
+
+	private static String csv(String text) {
+		if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0) {
+			return text;
+		}
+		return "\"" + text.replace("\"", "\"\"") + "\"";
+	}
+
+	/**
+	 * The recorder of the calls to a service in a representation
+	 */
+	private static final class Recorder {
+
+		private final long[] samples = new long[SAMPLE_SIZE];
+
+		private long count;
+
+		private long totalNanos;
+
+		private long selfNanos;
+
+		private long maxNanos;
+
+		private long totalSize;
+
+		private synchronized void record(long nanos, long selfNanos, int size) {
+			samples[(int) (count % SAMPLE_SIZE)] = nanos;
+			count++;
+			totalNanos += nanos;
+			this.selfNanos += selfNanos;
+			maxNanos = Math.max(maxNanos, nanos);
+			totalSize += size;
+		}
+
+		private synchronized Statistics getStatistics(Key key) {
+			var sorted = Arrays.copyOf(samples, (int) Math.min(count, SAMPLE_SIZE));
+			Arrays.sort(sorted);
+			var p99 = (sorted.length > 0) ? sorted[(int) Math.ceil(sorted.length * 0.99) - 1] : 0;
+			var meanSize = (count > 0) ? (double) totalSize / count : 0;
+			return new Statistics(key.representation(), key.service(), count, totalNanos, selfNanos, p99, maxNanos, meanSize);
+		}
+	}
+
+}
@@ -0,0 +1,59 @@
+/**
+ * 
+ * Copyright 2019-2021 California Institute of Technology ("Caltech").
+ * U.S. Government sponsorship acknowledged.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package io.opencaesar.rosetta.sirius.viewpoint.metrics;
+
+import org.eclipse.sirius.business.api.query.DRepresentationQuery;
+import org.eclipse.sirius.diagram.DDiagram;
+import org.eclipse.sirius.diagram.business.api.refresh.IRefreshExtension;
+import org.eclipse.sirius.diagram.business.api.refresh.IRefreshExtensionProvider;
+
+/**
+ * A refresh extension that attributes the service calls made during the refresh of a diagram to that diagram
+ */
+public class ServiceMetricsRefreshExtensionProvider implements IRefreshExtensionProvider, IRefreshExtension {
+
+	@Override
+	public boolean provides(DDiagram diagram) {
+		return ServiceMetrics.isEnabled();
+	}
+
+	@Override
+	public IRefreshExtension getRefreshExtension(DDiagram diagram) {
+		return this;
+	}
+
+	@Override
+	public void beforeRefresh(DDiagram diagram) {
+		ServiceMetrics.setRepresentation(getName(diagram));
+	}
+
+	@Override
+	public void postRefresh(DDiagram diagram) {
+		ServiceMetrics.setRepresentation(null);
+	}
+
+	private static String getName(DDiagram diagram) {
+		var descriptor = new DRepresentationQuery(diagram).getRepresentationDescriptor();
+		if (descriptor != null && descriptor.getName() != null) {
+			return descriptor.getName();
+		}
+		return (diagram.getDescription() != null) ? diagram.getDescription().getName() : ServiceMetrics.NO_REPRESENTATION;
+	}
+
+}
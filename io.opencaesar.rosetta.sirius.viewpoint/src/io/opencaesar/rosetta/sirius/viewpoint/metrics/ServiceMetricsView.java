@@ -0,0 +1,175 @@
+/**
+ * 
+ * Copyright 2019-2021 California Institute of Technology ("Caltech").
+ * U.S. Government sponsorship acknowledged.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package io.opencaesar.rosetta.sirius.viewpoint.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.function.Function;
+
+import org.eclipse.jface.action.Action;
+import org.eclipse.jface.action.IAction;
+import org.eclipse.jface.dialogs.MessageDialog;
+import org.eclipse.jface.viewers.ArrayContentProvider;
+import org.eclipse.jface.viewers.ColumnLabelProvider;
+import org.eclipse.jface.viewers.TableViewer;
+import org.eclipse.jface.viewers.TableViewerColumn;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.FileDialog;
+import org.eclipse.ui.part.ViewPart;
+
+import io.opencaesar.rosetta.sirius.viewpoint.metrics.ServiceMetrics.Statistics;
+
+/**
+ * A view that shows the {@link ServiceMetrics} of the OML viewpoint services
+ */
+public class ServiceMetricsView extends ViewPart {
+
+	/**
+	 * The id of the view
+	 */
+	public static final String ID = "io.opencaesar.rosetta.sirius.viewpoint.metrics.ServiceMetricsView";
+
+	private static final int REFRESH_INTERVAL = 2000;
+
+	private TableViewer viewer;
+
+	private final Runnable periodicRefresh = new Runnable() {
+		@Override
+		public void run() {
+			if (viewer != null && !viewer.getControl().isDisposed() && ServiceMetrics.isEnabled()) {
+				refresh();
+				viewer.getControl().getDisplay().timerExec(REFRESH_INTERVAL, this);
+			}
+		}
+	};
+
+	@Override
+	public void createPartControl(Composite parent) {
+		viewer = new TableViewer(parent, SWT.MULTI | SWT.H_SCROLL | SWT.V_SCROLL | SWT.FULL_SELECTION);
+		viewer.getTable().setHeaderVisible(true);
+		viewer.getTable().setLinesVisible(true);
+		viewer.setContentProvider(ArrayContentProvider.getInstance());
+
+		addColumn("Representation", 200, SWT.LEFT, s -> s.representation());
+		addColumn("Service", 240, SWT.LEFT, s -> s.service());
+		addColumn("Calls", 80, SWT.RIGHT, s -> String.valueOf(s.count()));
+		addColumn("Total (ms)", 90, SWT.RIGHT, s -> millis(s.totalNanos()));
+		addColumn("Self (ms)", 90, SWT.RIGHT, s -> millis(s.selfNanos()));
+		addColumn("Mean (ms)", 90, SWT.RIGHT, s -> millis(s.totalNanos() / s.count()));
+		addColumn("P99 (ms)", 90, SWT.RIGHT, s -> millis(s.p99Nanos()));
+		addColumn("Max (ms)", 90, SWT.RIGHT, s -> millis(s.maxNanos()));
+		addColumn("Mean Size", 90, SWT.RIGHT, s -> String.format(Locale.ROOT, "%.1f", s.meanSize()));
+
+		var enable = new Action("Record", IAction.AS_CHECK_BOX) {
+			@Override
+			public void run() {
+				ServiceMetrics.setEnabled(isChecked());
+				if (isChecked()) {
+					periodicRefresh.run();
+				} else {
+					refresh();
+				}
+			}
+		};
+		enable.setToolTipText("Record the calls to the OML viewpoint services");
+		enable.setChecked(ServiceMetrics.isEnabled());
+
+		var refresh = new Action("Refresh") {
+			@Override
+			public void run() {
+				refresh();
+			}
+		};
+		refresh.setToolTipText("Refresh the service metrics");
+
+		var reset = new Action("Reset") {
+			@Override
+			public void run() {
+				ServiceMetrics.reset();
+				refresh();
+			}
+		};
+		reset.setToolTipText("Discard the recorded service metrics");
+
+		var export = new Action("Export...") {
+			@Override
+			public void run() {
+				exportCsv();
+			}
+		};
+		export.setToolTipText("Export the service metrics to a CSV file");
+
+		var toolBar = getViewSite().getActionBars().getToolBarManager();
+		toolBar.add(enable);
+		toolBar.add(refresh);
+		toolBar.add(reset);
+		toolBar.add(export);
+
+		periodicRefresh.run();
+		refresh();
+	}
+
+	@Override
+	public void setFocus() {
+		viewer.getControl().setFocus();
+	}
+
+	private void addColumn(String title, int width, int alignment, Function<Statistics, String> text) {
+		var column = new TableViewerColumn(viewer, SWT.NONE);
+		column.getColumn().setText(title);
+		column.getColumn().setWidth(width);
+		column.getColumn().setAlignment(alignment);
+		column.setLabelProvider(new ColumnLabelProvider() {
+			@Override
+			public String getText(Object element) {
+				return text.apply((Statistics) element);
+			}
+		});
+	}
+
+	private void refresh() {
+		if (viewer != null && !viewer.getControl().isDisposed()) {
+			viewer.setInput(ServiceMetrics.getStatistics());
+		}
+	}
+
+	private void exportCsv() {
+		var dialog = new FileDialog(getSite().getShell(), SWT.SAVE);
+		dialog.setFilterExtensions(new String[] { "*.csv" });
+		dialog.setFileName("service-metrics.csv");
+		dialog.setOverwrite(true);
+		var path = dialog.open();
+		if (path != null) {
+			try (var writer = Files.newBufferedWriter(Paths.get(path), StandardCharsets.UTF_8)) {
+				ServiceMetrics.writeCsv(writer);
+			} catch (IOException e) {
+				MessageDialog.openError(getSite().getShell(), "Export Service Metrics", e.getMessage());
+			}
+		}
+	}
+
+	private static String millis(long nanos) {
+		return String.format(Locale.ROOT, "%.3f", nanos / 1e6);
+	}
+
+}